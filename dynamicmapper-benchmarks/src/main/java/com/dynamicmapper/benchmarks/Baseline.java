@@ -0,0 +1,137 @@
+package com.dynamicmapper.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Scores of a benchmark run keyed by benchmark and parameters, e.g <tt>MapListBenchmark.mapList[size=1000]</tt>,
+ * with the allocation per op the gc profiler measured. Written as JSON, one benchmark per line and sorted, so
+ * the committed baseline diffs well
+ */
+final class Baseline {
+
+
+    static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+
+    private static final String BENCHMARKS_PACKAGE = Baseline.class.getPackage().getName() + ".";
+
+    private final Map<String, Entry> entries;
+
+
+    private Baseline(Map<String, Entry> entries){
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    static Baseline of(Collection<RunResult> results){
+        Map<String, Entry> entries = new TreeMap<>();
+        for(RunResult curr: results){
+            Result primary = curr.getPrimaryResult();
+            Result allocation = curr.getSecondaryResults().get(ALLOCATION_RESULT);
+            entries.put( keyOf(curr.getParams()), new Entry(curr.getParams().getMode().shortLabel(),
+                    primary.getScore(), primary.getScoreUnit(), allocation == null? Double.NaN: allocation.getScore()) );
+        }
+        return new Baseline(entries);
+    }
+
+    static Baseline read(Path file) throws IOException {
+        Object json = JsonReader.parse( new String(Files.readAllBytes(file), StandardCharsets.UTF_8) );
+        if( !(json instanceof Map) ){
+            throw new IllegalArgumentException(String.format("Baseline %s is not a JSON object", file));
+        }
+        Map<String, Entry> entries = new TreeMap<>();
+        for(Map.Entry<?, ?> curr: ((Map<?, ?>) json).entrySet()){
+            if( !(curr.getValue() instanceof Map) ){
+                throw new IllegalArgumentException(String.format("Baseline %s: %s is not a JSON object", file, curr.getKey()));
+            }
+            Map<?, ?> entry = (Map<?, ?>) curr.getValue();
+            Object allocation = entry.get("allocation");
+            entries.put( (String) curr.getKey(), new Entry((String) entry.get("mode"), (Double) entry.get("score"),
+                    (String) entry.get("scoreUnit"), allocation == null? Double.NaN: (Double) allocation) );
+        }
+        return new Baseline(entries);
+    }
+
+    void write(Path file) throws IOException {
+        StringBuilder sb = new StringBuilder("{\n");
+        String separator = "";
+        for(Map.Entry<String, Entry> curr: entries.entrySet()){
+            Entry entry = curr.getValue();
+            sb.append(separator).append(String.format(Locale.ROOT, "  \"%s\": {\"mode\": \"%s\", \"score\": %s, \"scoreUnit\": \"%s\"",
+                    curr.getKey(), entry.mode, entry.score, entry.scoreUnit));
+            if( entry.hasAllocation() ){
+                sb.append(String.format(Locale.ROOT, ", \"allocation\": %s", entry.allocation));
+            }
+            sb.append('}');
+            separator = ",\n";
+        }
+        sb.append("\n}\n");
+        Path parent = file.toAbsolutePath().getParent();
+        if(parent != null){
+            Files.createDirectories(parent);
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    Map<String, Entry> entries(){
+        return entries;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static String keyOf(BenchmarkParams params){
+        String benchmark = params.getBenchmark();
+        StringBuilder key = new StringBuilder( benchmark.startsWith(BENCHMARKS_PACKAGE)?
+                benchmark.substring(BENCHMARKS_PACKAGE.length()): benchmark );
+        if( !params.getParamsKeys().isEmpty() ){
+            String separator = "[";
+            for(String curr: params.getParamsKeys()){
+                key.append(separator).append(curr).append('=').append(params.getParam(curr));
+                separator = ",";
+            }
+            key.append(']');
+        }
+        return key.toString();
+    }
+
+
+    /**
+     * Score of one benchmark, allocation is in bytes per op and NaN when the gc profiler was not attached
+     */
+    static final class Entry {
+
+        final String mode;
+        final double score;
+        final String scoreUnit;
+        final double allocation;
+
+        Entry(String mode, double score, String scoreUnit, double allocation) {
+            this.mode       = mode;
+            this.score      = score;
+            this.scoreUnit  = scoreUnit;
+            this.allocation = allocation;
+        }
+
+        boolean hasAllocation(){
+            return !Double.isNaN(allocation);
+        }
+
+        /**
+         * Relative throughput against a baseline entry, below 1 when this one is slower whatever the mode: time
+         * per op modes are inverted
+         */
+        double throughputRatioTo(Entry baseline){
+            return "thrpt".equals(mode)? score / baseline.score: baseline.score / score;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dynamicmapper.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the cold and warm benchmarks of map, mapList, deepCopyOf and lookupPropertyResolver with the gc profiler
+ * attached, so every score comes with its allocation rate and bytes per op. Arguments are the usual JMH ones,
+ * benchmark regexps included, which replace the default selection
+ *
+ * e.g: java -cp target/benchmarks.jar com.dynamicmapper.benchmarks.BenchmarkSuite MapBenchmark.mapStudent -f 3
+ */
+public final class BenchmarkSuite {
+
+
+    static final Class<?>[] BENCHMARKS = { MapBenchmark.class, MapListBenchmark.class, ColdStartBenchmark.class };
+
+
+    private BenchmarkSuite(){
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        String[] includes = new String[BENCHMARKS.length];
+        for(int i=0; i< BENCHMARKS.length; ++i){
+            includes[i] = BENCHMARKS[i].getSimpleName();
+        }
+        new Runner( options(new CommandLineOptions(args), includes).build() ).run();
+    }
+
+    /**
+     * Options given on the command line, the default includes when it has none, and the gc profiler
+     */
+    static ChainedOptionsBuilder options(CommandLineOptions commandLine, String... defaultIncludes){
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent( commandLine );
+        if( commandLine.getIncludes().isEmpty() ){
+            for(String curr: defaultIncludes){
+                builder.include( curr );
+            }
+        }
+        return builder.addProfiler( GCProfiler.class );
+    }
+}
@@ -0,0 +1,127 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.commons.ConcurrentLRUCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get/put throughput of {@link ConcurrentLRUCache} by thread count, the synchronized {@link LRUCache} the metadata
+ * caches used before is the baseline. The workload is read mostly (90% get, 10% put) over a key space larger than
+ * the capacity, so puts keep evicting
+ *
+ * e.g: java -jar target/benchmarks.jar CacheBenchmark -p capacity=1024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+
+    @Param({"128"})
+    private int capacity;
+
+    private int keySpace;
+    private String[] values;
+
+    private Map<Integer, String> synchronizedCache;
+    private ConcurrentLRUCache<Integer, String> concurrentCache;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        keySpace = capacity + (capacity >> 1);
+        values = new String[keySpace];
+        for(int i=0; i< keySpace; ++i){
+            values[i] = "v" + i;
+        }
+        synchronizedCache = Collections.synchronizedMap( new LRUCache<Integer, String>(capacity) );
+        concurrentCache   = new ConcurrentLRUCache<>(capacity);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String synchronized1Thread(){
+        return accessSynchronized();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public String synchronized2Threads(){
+        return accessSynchronized();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String synchronized4Threads(){
+        return accessSynchronized();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String synchronized8Threads(){
+        return accessSynchronized();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String concurrent1Thread(){
+        return accessConcurrent();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public String concurrent2Threads(){
+        return accessConcurrent();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String concurrent4Threads(){
+        return accessConcurrent();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String concurrent8Threads(){
+        return accessConcurrent();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private String accessSynchronized(){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(keySpace);
+        if(random.nextInt(10) == 0){
+            return synchronizedCache.put(key, values[key]);
+        }
+        return synchronizedCache.get(key);
+    }
+
+    private String accessConcurrent(){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(keySpace);
+        if(random.nextInt(10) == 0){
+            return concurrentCache.put(key, values[key]);
+        }
+        return concurrentCache.get(key);
+    }
+}
@@ -0,0 +1,103 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.domain.Course;
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.domain.Student;
+import com.dynamicmapper.domain.StudentVO;
+import com.dynamicmapper.mapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first call of each operation in a fresh JVM: plans built, mapper classes generated, reflection metadata
+ * read and everything interpreted. Each fork measures a single call, so the score is averaged over the forks,
+ * the hand-written counterparts tell how much of it is the JVM itself
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark {
+
+
+    private Person       person;
+    private Student      student;
+    private Course       course;
+    private List<Person> persons;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        person  = Fixtures.person(1);
+        student = Fixtures.student(1);
+        course  = Fixtures.course(Fixtures.COURSE_SIZE);
+        persons = Fixtures.persons(1000);
+    }
+
+    @Benchmark
+    public PersonVO mapPerson(){
+        return ModelMapper.map(person, PersonVO.class);
+    }
+
+    @Benchmark
+    public PersonVO mapPersonByHand(){
+        return HandWrittenMappers.toPersonVO(person);
+    }
+
+    @Benchmark
+    public StudentVO mapStudent(){
+        return ModelMapper.map(student, StudentVO.class);
+    }
+
+    @Benchmark
+    public StudentVO mapStudentByHand(){
+        return HandWrittenMappers.toStudentVO(student);
+    }
+
+    @Benchmark
+    public List<PersonVO> mapList(){
+        return ModelMapper.mapList(persons, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<PersonVO> mapListByHand(){
+        return HandWrittenMappers.toPersonVOs(persons);
+    }
+
+    @Benchmark
+    public Course deepCopyCourse(){
+        return ModelMapper.deepCopyOf(course);
+    }
+
+    @Benchmark
+    public Course deepCopyCourseByHand(){
+        return HandWrittenMappers.copyOf(course);
+    }
+
+    @Benchmark
+    public Method lookupPropertyResolver(){
+        return ReflectionUtils.lookupPropertyResolver("getEducationLevel", Student.class);
+    }
+
+    @Benchmark
+    public Method lookupPropertyResolverByHand() throws NoSuchMethodException {
+        return Student.class.getMethod("getEducationLevel");
+    }
+}
@@ -0,0 +1,115 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.Student;
+import com.dynamicmapper.mapper.copy.DeepCopier;
+import com.dynamicmapper.mapper.copy.IterativeDeepCopier;
+import com.dynamicmapper.mapper.copy.RecursiveDeepCopier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link IterativeDeepCopier} against the {@link RecursiveDeepCopier} baseline on graphs 10k to 1M nodes deep:
+ * <ul>
+ *     <li>parentChain: a person whose parent has a parent... depth nodes long</li>
+ *     <li>linkedList: a LinkedList of depth students, each one the parent of the next</li>
+ * </ul>
+ *
+ * Both copiers run on a thread with a 1GB stack, otherwise the recursive one overflows long before 1M nodes,
+ * the thread start is paid by both
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeepCopyBenchmark {
+
+
+    private static final long COPY_THREAD_STACK_SIZE = 1L << 30;
+
+    @Param({"10000", "100000", "1000000"})
+    private int depth;
+
+    @Param({"parentChain", "linkedList"})
+    private String shape;
+
+    private Object graph;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        if("linkedList".equals(shape)){
+            LinkedList<Student> students = new LinkedList<>();
+            Student previous = null;
+            for(int i=0; i< depth; ++i){
+                Student curr = new Student();
+                curr.setName("Student " + i);
+                curr.setAge(i % 100);
+                curr.setParent(previous);
+                students.add(curr);
+                previous = curr;
+            }
+            graph = students;
+        }else{
+            Person root = new Person("Person 0", 0);
+            Person tail = root;
+            for(int i=1; i< depth; ++i){
+                Person next = new Person("Person " + i, i % 100);
+                tail.setParent(next);
+                tail = next;
+            }
+            graph = root;
+        }
+    }
+
+    @Benchmark
+    public Object iterative() throws InterruptedException {
+        return copyOnLargeStack(IterativeDeepCopier.getInstance(), graph);
+    }
+
+    @Benchmark
+    public Object recursive() throws InterruptedException {
+        return copyOnLargeStack(RecursiveDeepCopier.getInstance(), graph);
+    }
+
+    private static Object copyOnLargeStack(final DeepCopier copier, final Object graph) throws InterruptedException {
+        final AtomicReference<Object>    copy    = new AtomicReference<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread worker = new Thread(null, new Runnable() {
+            @Override public void run() {
+                try {
+                    copy.set( copier.copy(graph) );
+                } catch (Throwable e) {
+                    failure.set( e );
+                }
+            }
+        }, "deep-copy", COPY_THREAD_STACK_SIZE);
+        worker.start();
+        worker.join();
+        //e.g: a StackOverflowError must fail the run, not be scored as a fast copy
+        Throwable e = failure.get();
+        if(e instanceof Error){
+            throw (Error) e;
+        }
+        if(e != null){
+            throw (RuntimeException) e;
+        }
+        return copy.get();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Address;
+import com.dynamicmapper.domain.Course;
+import com.dynamicmapper.domain.Gender;
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.Student;
+import com.dynamicmapper.domain.Subject;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Object graphs shared by the benchmarks, small enough to stay in cache so they measure the mapper and not the
+ * memory bus
+ */
+final class Fixtures {
+
+
+    static final int COURSE_SIZE = 100;
+
+
+    private Fixtures(){
+    }
+
+    static Person person(int i){
+        Person parent = new Person("Parent " + i, 40 + i % 30);
+        parent.setGender(Gender.FEMALE);
+        Person person = new Person("Person " + i, i % 90, parent);
+        person.setGender(Gender.MALE);
+        person.setAddress(new Address("Street " + i, i, "1000-" + i % 1000));
+        return person;
+    }
+
+    static Student student(int i){
+        Subject[] subjects = {
+                new Subject("MATH", "Mathematics " + i, 1),
+                new Subject("PHYS", "Physics " + i, 2),
+                new Subject("PROG", "Programming " + i, 3)
+        };
+        Student student = new Student("Student " + i, 18 + i % 10, "Bachelor", subjects);
+        student.setParent(new Person("Parent " + i, 40 + i % 30));
+        student.setGender(i % 2 == 0? Gender.MALE: Gender.FEMALE);
+        student.setAddress(new Address("Street " + i, i, "1000-" + i % 1000));
+        return student;
+    }
+
+    static List<Person> persons(int size){
+        List<Person> persons = new ArrayList<>(size);
+        for(int i=0; i< size; ++i){
+            persons.add( person(i) );
+        }
+        return persons;
+    }
+
+    /**
+     * A course whose students are also its nightly students, so copies must keep the sharing
+     */
+    static Course course(int size){
+        List<Student> students = new ArrayList<>(size);
+        LinkedList<Student> nightly = new LinkedList<>();
+        for(int i=0; i< size; ++i){
+            Student curr = student(i);
+            students.add(curr);
+            if(i % 2 == 0){
+                nightly.add(curr);
+            }
+        }
+        return new Course("Computer Science", students, nightly);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Address;
+import com.dynamicmapper.domain.Course;
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.domain.Student;
+import com.dynamicmapper.domain.StudentVO;
+import com.dynamicmapper.domain.Subject;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The code a developer would write instead of using the mapper, with the same semantics: nested objects of the
+ * same class are deep copied, the other ones mapped. It is the floor every mapper benchmark is read against
+ */
+final class HandWrittenMappers {
+
+
+    private HandWrittenMappers(){
+    }
+
+    static PersonVO toPersonVO(Person person){
+        if(person == null){
+            return null;
+        }
+        PersonVO vo = new PersonVO();
+        fill(person, vo);
+        return vo;
+    }
+
+    static StudentVO toStudentVO(Student student){
+        if(student == null){
+            return null;
+        }
+        StudentVO vo = new StudentVO();
+        fill(student, vo);
+        vo.setScolarship(student.getEducationLevel());
+        vo.setSubjects(copyOf(student.getSubjects()));
+        return vo;
+    }
+
+    static List<PersonVO> toPersonVOs(List<Person> persons){
+        List<PersonVO> vos = new ArrayList<>(persons.size());
+        for(Person curr: persons){
+            vos.add( toPersonVO(curr) );
+        }
+        return vos;
+    }
+
+    static Course copyOf(Course course){
+        Map<Student, Student> copies = new IdentityHashMap<>();
+        Course copy = new Course();
+        copy.setTitle(course.getTitle());
+        if(course.getStudents() != null){
+            List<Student> students = new ArrayList<>(course.getStudents().size());
+            for(Student curr: course.getStudents()){
+                students.add( copyOf(curr, copies) );
+            }
+            copy.setStudents(students);
+        }
+        if(course.getNightlyStudents() != null){
+            LinkedList<Student> nightly = new LinkedList<>();
+            for(Student curr: course.getNightlyStudents()){
+                nightly.add( copyOf(curr, copies) );
+            }
+            copy.setNightlyStudents(nightly);
+        }
+        return copy;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static void fill(Person person, PersonVO vo){
+        vo.setFirstName(person.getName());
+        vo.setAge(person.getAge());
+        vo.setGender(person.getGender());
+        vo.setAddress(copyOf(person.getAddress()));
+        vo.setParent(toPersonVO(person.getParent()));
+    }
+
+    private static Student copyOf(Student student, Map<Student, Student> copies){
+        if(student == null){
+            return null;
+        }
+        Student copy = copies.get(student);
+        if(copy == null){
+            copy = new Student(student.getName(), student.getAge(), student.getEducationLevel(),
+                    copyOf(student.getSubjects()));
+            copy.setGender(student.getGender());
+            copy.setAddress(copyOf(student.getAddress()));
+            copy.setParent(copyOf(student.getParent()));
+            copies.put(student, copy);
+        }
+        return copy;
+    }
+
+    private static Person copyOf(Person person){
+        if(person == null){
+            return null;
+        }
+        Person copy = new Person(person.getName(), person.getAge(), copyOf(person.getParent()));
+        copy.setGender(person.getGender());
+        copy.setAddress(copyOf(person.getAddress()));
+        return copy;
+    }
+
+    private static Address copyOf(Address address){
+        return address == null? null: new Address(address.getDescription(), address.getNumber(), address.getZipCode());
+    }
+
+    private static Subject[] copyOf(Subject[] subjects){
+        if(subjects == null){
+            return null;
+        }
+        Subject[] copy = new Subject[subjects.length];
+        for(int i=0; i< subjects.length; ++i){
+            Subject curr = subjects[i];
+            copy[i] = new Subject(curr.getShortDescription(), curr.getFullDescription(), curr.getSemester());
+            copy[i].setCredits(curr.getCredits());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,171 @@
+package com.dynamicmapper.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Just enough JSON to read baselines back, so the gate needs nothing beyond JMH: objects become a
+ * {@link LinkedHashMap}, arrays a {@link List}, numbers a {@link Double}
+ */
+final class JsonReader {
+
+
+    private final String text;
+    private int position;
+
+
+    private JsonReader(String text){
+        this.text = text;
+    }
+
+    static Object parse(String text){
+        JsonReader reader = new JsonReader(text);
+        Object value = reader.value();
+        reader.skipWhitespace();
+        if(reader.position != text.length()){
+            throw reader.error("unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private Object value(){
+        skipWhitespace();
+        if(position == text.length()){
+            throw error("unexpected end of input");
+        }
+        char curr = text.charAt(position);
+        switch (curr){
+            case '{': return object();
+            case '[': return array();
+            case '"': return string();
+            case 't': return literal("true", Boolean.TRUE);
+            case 'f': return literal("false", Boolean.FALSE);
+            case 'n': return literal("null", null);
+            default : return number();
+        }
+    }
+
+    private Map<String, Object> object(){
+        Map<String, Object> object = new LinkedHashMap<>();
+        expect('{');
+        if(next() == '}'){
+            ++position;
+            return object;
+        }
+        do{
+            skipWhitespace();
+            String key = string();
+            expect(':');
+            object.put(key, value());
+        }while(separator('}'));
+        return object;
+    }
+
+    private List<Object> array(){
+        List<Object> array = new ArrayList<>();
+        expect('[');
+        if(next() == ']'){
+            ++position;
+            return array;
+        }
+        do{
+            array.add(value());
+        }while(separator(']'));
+        return array;
+    }
+
+    private String string(){
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        while(position < text.length()){
+            char curr = text.charAt(position++);
+            if(curr == '"'){
+                return sb.toString();
+            }
+            if(curr != '\\'){
+                sb.append(curr);
+                continue;
+            }
+            if(position == text.length()){
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped){
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if(position + 4 > text.length()){
+                        throw error("truncated unicode escape");
+                    }
+                    sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                    break;
+                default : sb.append(escaped);
+            }
+        }
+        throw error("unterminated string");
+    }
+
+    private Double number(){
+        int start = position;
+        while(position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0){
+            ++position;
+        }
+        try {
+            return Double.valueOf(text.substring(start, position));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("expected a value");
+        }
+    }
+
+    private Object literal(String literal, Object value){
+        if(!text.startsWith(literal, position)){
+            throw error("expected " + literal);
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private boolean separator(char closing){
+        char curr = next();
+        ++position;
+        if(curr == ','){
+            return true;
+        }
+        if(curr == closing){
+            return false;
+        }
+        --position;
+        throw error("expected ',' or '" + closing + "'");
+    }
+
+    private void expect(char expected){
+        if(next() != expected){
+            throw error("expected '" + expected + "'");
+        }
+        ++position;
+    }
+
+    private char next(){
+        skipWhitespace();
+        return position < text.length()? text.charAt(position): '\0';
+    }
+
+    private void skipWhitespace(){
+        while(position < text.length() && Character.isWhitespace(text.charAt(position))){
+            ++position;
+        }
+    }
+
+    private IllegalArgumentException error(String message){
+        return new IllegalArgumentException(String.format("Malformed JSON at offset %d: %s", position, message));
+    }
+}
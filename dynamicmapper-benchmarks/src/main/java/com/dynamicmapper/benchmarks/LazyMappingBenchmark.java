@@ -0,0 +1,83 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Address;
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.mapper.MappingOptions;
+import com.dynamicmapper.mapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eager against lazy mapping of a person whose parent chain is depth persons long, when the caller only reads
+ * the first name, and when it walks the whole chain
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazyMappingBenchmark {
+
+
+    private static final MappingOptions LAZY = MappingOptions.defaults().lazy(true);
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private Person person;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        person = new Person("Person 0", 0);
+        Person tail = person;
+        for(int i=1; i< depth; ++i){
+            Person next = new Person("Person " + i, i % 100);
+            next.setAddress(new Address("Street " + i, i, "1000-" + i));
+            tail.setParent(next);
+            tail = next;
+        }
+    }
+
+    @Benchmark
+    public String eagerFirstName(){
+        return ModelMapper.map(person, PersonVO.class).getFirstName();
+    }
+
+    @Benchmark
+    public String lazyFirstName(){
+        return ModelMapper.map(person, PersonVO.class, LAZY).getFirstName();
+    }
+
+    @Benchmark
+    public PersonVO eagerWholeChain(){
+        return lastOf( ModelMapper.map(person, PersonVO.class) );
+    }
+
+    @Benchmark
+    public PersonVO lazyWholeChain(){
+        return lastOf( ModelMapper.map(person, PersonVO.class, LAZY) );
+    }
+
+    private static PersonVO lastOf(PersonVO vo){
+        PersonVO curr = vo;
+        while(curr.getParent() != null){
+            curr = curr.getParent();
+        }
+        return curr;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.domain.Course;
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.domain.Student;
+import com.dynamicmapper.domain.StudentVO;
+import com.dynamicmapper.mapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm throughput of the single object operations: plans cached and code compiled. Every operation has its
+ * hand-written counterpart from {@link HandWrittenMappers}, the ratio between both is the mapper overhead.
+ * Allocation per op comes with the gc profiler
+ *
+ * e.g: java -jar target/benchmarks.jar MapBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapBenchmark {
+
+
+    private Person  person;
+    private Student student;
+    private Course  course;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        person  = Fixtures.person(1);
+        student = Fixtures.student(1);
+        course  = Fixtures.course(Fixtures.COURSE_SIZE);
+    }
+
+    @Benchmark
+    public PersonVO mapPerson(){
+        return ModelMapper.map(person, PersonVO.class);
+    }
+
+    @Benchmark
+    public PersonVO mapPersonByHand(){
+        return HandWrittenMappers.toPersonVO(person);
+    }
+
+    @Benchmark
+    public StudentVO mapStudent(){
+        return ModelMapper.map(student, StudentVO.class);
+    }
+
+    @Benchmark
+    public StudentVO mapStudentByHand(){
+        return HandWrittenMappers.toStudentVO(student);
+    }
+
+    @Benchmark
+    public Course deepCopyCourse(){
+        return ModelMapper.deepCopyOf(course);
+    }
+
+    @Benchmark
+    public Course deepCopyCourseByHand(){
+        return HandWrittenMappers.copyOf(course);
+    }
+
+    @Benchmark
+    public Method lookupPropertyResolver(){
+        return ReflectionUtils.lookupPropertyResolver("getEducationLevel", Student.class);
+    }
+
+    @Benchmark
+    public Method lookupPropertyResolverByHand() throws NoSuchMethodException {
+        return Student.class.getMethod("getEducationLevel");
+    }
+}
@@ -0,0 +1,55 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.mapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm throughput of {@link ModelMapper#mapList(List, Class)} from a handful of persons, where the per call cost
+ * dominates, to lists that no longer fit in cache, against a hand-written loop
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapListBenchmark {
+
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Person> persons;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        persons = Fixtures.persons(size);
+    }
+
+    @Benchmark
+    public List<PersonVO> mapList(){
+        return ModelMapper.mapList(persons, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<PersonVO> mapListByHand(){
+        return HandWrittenMappers.toPersonVOs(persons);
+    }
+}
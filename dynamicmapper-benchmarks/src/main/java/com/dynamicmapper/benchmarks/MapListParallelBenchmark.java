@@ -0,0 +1,77 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.mapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link ModelMapper#mapListParallel(List, Class, ForkJoinPool, int)} by core count, the sequential
+ * {@link ModelMapper#mapList(List, Class)} is the baseline
+ *
+ * e.g: java -jar target/benchmarks.jar MapListParallelBenchmark -p parallelism=1,2,4,8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapListParallelBenchmark {
+
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"200000"})
+    private int size;
+
+    @Param({"4096"})
+    private int threshold;
+
+    private List<Person> persons;
+    private ForkJoinPool pool;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        persons = new ArrayList<>(size);
+        for(int i=0; i< size; ++i){
+            Person parent = new Person("Parent " + i, 60);
+            persons.add( new Person("Person " + i, i % 90, parent) );
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<PersonVO> mapList(){
+        return ModelMapper.mapList(persons, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<PersonVO> mapListParallel(){
+        return ModelMapper.mapListParallel(persons, PersonVO.class, pool, threshold);
+    }
+}
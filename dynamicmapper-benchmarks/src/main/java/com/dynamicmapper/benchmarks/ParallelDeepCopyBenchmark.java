@@ -0,0 +1,81 @@
+package com.dynamicmapper.benchmarks;
+
+import com.dynamicmapper.domain.Course;
+import com.dynamicmapper.domain.Person;
+import com.dynamicmapper.domain.Student;
+import com.dynamicmapper.mapper.copy.IterativeDeepCopier;
+import com.dynamicmapper.mapper.copy.ParallelDeepCopier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParallelDeepCopier} against the sequential {@link IterativeDeepCopier} on a wide graph: a course whose
+ * size students, each one with its own parent, are held by both its students and nightly students lists
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelDeepCopyBenchmark {
+
+
+    @Param({"100000", "500000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private Course             course;
+    private ForkJoinPool       pool;
+    private ParallelDeepCopier parallelCopier;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        LinkedList<Student> students = new LinkedList<>();
+        LinkedList<Student> nightly  = new LinkedList<>();
+        for(int i=0; i< size; ++i){
+            Student curr = new Student();
+            curr.setName("Student " + i);
+            curr.setAge(i % 100);
+            curr.setParent(new Person("Parent " + i, 40 + i % 30));
+            students.add(curr);
+            nightly.add(curr);
+        }
+        course         = new Course("Computer Science", students, nightly);
+        pool           = new ForkJoinPool(parallelism);
+        parallelCopier = new ParallelDeepCopier(pool, ParallelDeepCopier.DEFAULT_THRESHOLD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Course parallel(){
+        return parallelCopier.copy(course);
+    }
+
+    @Benchmark
+    public Course sequential(){
+        return IterativeDeepCopier.getInstance().copy(course);
+    }
+}
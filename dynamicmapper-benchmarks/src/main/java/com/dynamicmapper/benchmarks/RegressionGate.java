@@ -0,0 +1,133 @@
+package com.dynamicmapper.benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fail a release when the key operations got slower or allocate more than the committed baseline:
+ * <pre>
+ *     java -cp target/benchmarks.jar com.dynamicmapper.benchmarks.RegressionGate record baseline.json
+ *     java -cp target/benchmarks.jar com.dynamicmapper.benchmarks.RegressionGate check  baseline.json
+ * </pre>
+ * record runs the gate benchmarks and writes their scores to the baseline, check runs them again, writes the
+ * scores to {@value #RESULTS_PROPERTY} (target/regression-gate.json by default) and exits with 1 when a
+ * benchmark lost more than {@value #THROUGHPUT_TOLERANCE_PROPERTY} of its throughput (0.25 by default) or
+ * allocates more than {@value #ALLOCATION_TOLERANCE_PROPERTY} extra bytes per op (0.10 by default). Other
+ * arguments are passed to JMH, a benchmark regexp replaces the gate selection.
+ *
+ * Scores only compare on the same box: record the baseline again when the hardware or the JDK changes
+ */
+public final class RegressionGate {
+
+
+    public static final String THROUGHPUT_TOLERANCE_PROPERTY = "dynamicmapper.gate.throughputTolerance";
+    public static final String ALLOCATION_TOLERANCE_PROPERTY = "dynamicmapper.gate.allocationTolerance";
+    public static final String RESULTS_PROPERTY              = "dynamicmapper.gate.results";
+
+    static final String[] GATE_BENCHMARKS = {
+            "MapBenchmark\\.(mapPerson|mapStudent|deepCopyCourse)$",
+            "MapListBenchmark\\.mapList$"
+    };
+
+    private static final String MAP_LIST_SIZE = "1000";
+
+    //bytes per op the gc profiler reports on a benchmark that allocates nothing
+    private static final double ALLOCATION_NOISE = 1.0;
+
+
+    private RegressionGate(){
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        if(args.length < 2 || !("record".equals(args[0]) || "check".equals(args[0]))){
+            System.err.println("usage: RegressionGate record|check <baseline.json> [jmh options]");
+            System.exit(2);
+        }
+        Path baselineFile = Paths.get(args[1]);
+        CommandLineOptions commandLine = new CommandLineOptions(Arrays.copyOfRange(args, 2, args.length));
+        ChainedOptionsBuilder options = BenchmarkSuite.options(commandLine, GATE_BENCHMARKS);
+        if( !commandLine.getParameter("size").hasValue() ){
+            options.param("size", MAP_LIST_SIZE);
+        }
+        Collection<RunResult> results = new Runner( options.build() ).run();
+        Baseline current = Baseline.of(results);
+
+        if("record".equals(args[0])){
+            current.write(baselineFile);
+            System.out.printf("Recorded %d benchmarks to %s%n", current.entries().size(), baselineFile);
+            return;
+        }
+        current.write( Paths.get(System.getProperty(RESULTS_PROPERTY, "target/regression-gate.json")) );
+        int regressions = compare( Baseline.read(baselineFile), current,
+                tolerance(THROUGHPUT_TOLERANCE_PROPERTY, 0.25), tolerance(ALLOCATION_TOLERANCE_PROPERTY, 0.10) );
+        if(regressions > 0){
+            System.out.printf("Regression gate failed: %d of %d benchmarks regressed against %s%n",
+                    regressions, current.entries().size(), baselineFile);
+            System.exit(1);
+        }
+        System.out.printf("Regression gate passed against %s%n", baselineFile);
+    }
+
+    /**
+     * Print how each benchmark of current moved against baseline
+     *
+     * @return the number of benchmarks past a tolerance
+     */
+    static int compare(Baseline baseline, Baseline current, double throughputTolerance, double allocationTolerance){
+        int regressions = 0;
+        for(Map.Entry<String, Baseline.Entry> curr: current.entries().entrySet()){
+            Baseline.Entry before = baseline.entries().get(curr.getKey());
+            Baseline.Entry after  = curr.getValue();
+            if(before == null){
+                System.out.printf("NEW   %s: no baseline%n", curr.getKey());
+                continue;
+            }
+            String failure = null;
+            if( !before.mode.equals(after.mode) || !before.scoreUnit.equals(after.scoreUnit) ){
+                failure = String.format("measured in %s %s, the baseline in %s %s, record it again",
+                        after.mode, after.scoreUnit, before.mode, before.scoreUnit);
+            }else if( after.throughputRatioTo(before) < 1 - throughputTolerance ){
+                failure = String.format(Locale.ROOT, "throughput down %.1f%%", (1 - after.throughputRatioTo(before)) * 100);
+            }else if( before.hasAllocation() && after.hasAllocation()
+                    && after.allocation > before.allocation * (1 + allocationTolerance) + ALLOCATION_NOISE ){
+                failure = String.format(Locale.ROOT, "allocation up from %.0f to %.0f B/op", before.allocation, after.allocation);
+            }
+            System.out.printf(Locale.ROOT, "%s %s: %.3f -> %.3f %s%s%n", failure == null? "OK   ": "FAIL ",
+                    curr.getKey(), before.score, after.score, after.scoreUnit, failure == null? "": ", " + failure);
+            if(failure != null){
+                ++regressions;
+            }
+        }
+        return regressions;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static double tolerance(String property, double defaultValue){
+        String value = System.getProperty(property);
+        if(value == null){
+            return defaultValue;
+        }
+        try {
+            double tolerance = Double.parseDouble(value);
+            if(tolerance < 0){
+                throw new IllegalArgumentException(String.format("%s must not be negative: %s", property, value));
+            }
+            return tolerance;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s is not a number: %s", property, value), e);
+        }
+    }
+}
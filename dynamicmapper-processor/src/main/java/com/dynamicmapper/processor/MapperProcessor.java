@@ -0,0 +1,368 @@
+package com.dynamicmapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSR-269 processor generating, for every destination class annotated with
+ * <tt>@com.dynamicmapper.commons.GenerateMapper</tt>, one <tt>CompiledMapper</tt> source file per source class.
+ *
+ * Destination fields are resolved as ModelMapper does at runtime: <tt>@Mappable(methodName)</tt> names the
+ * source getter, otherwise the PropertyAccessorMapping convention applies (<tt>is</tt> prefix for
+ * <tt>java.lang.Boolean</tt> fields, <tt>get</tt> for anything else). Only fields whose value ModelMapper shares
+ * as is whatever is registered at runtime (primitives, String, the wrappers, enums and <tt>@Immutable</tt> classes)
+ * read through a public getter returning exactly
+ * the field type and written through a public setter are generated, anything else is left to ModelMapper.
+ *
+ * Generated mappers are listed in <tt>META-INF/services/com.dynamicmapper.mapper.CompiledMapper</tt>. An
+ * incremental build only compiles part of the sources, so the entries already listed are kept as long as their
+ * class can still be found
+ */
+@SupportedAnnotationTypes(MapperProcessor.GENERATE_MAPPER)
+public class MapperProcessor extends AbstractProcessor {
+
+
+    static final String GENERATE_MAPPER     = "com.dynamicmapper.commons.GenerateMapper";
+    static final String MAPPABLE            = "com.dynamicmapper.commons.Mappable";
+    static final String COMPILED_MAPPER     = "com.dynamicmapper.mapper.CompiledMapper";
+    static final String IMMUTABLE           = "com.dynamicmapper.commons.Immutable";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + COMPILED_MAPPER;
+
+    //Always immutable whatever is registered at runtime, other shared classes are left to ModelMapper
+    private static final Set<String> SHARED_AS_IS_TYPES = new HashSet<>(Arrays.asList(
+            String.class.getName(), Boolean.class.getName(), Character.class.getName(), Byte.class.getName(),
+            Short.class.getName(), Integer.class.getName(), Long.class.getName(), Float.class.getName(),
+            Double.class.getName()));
+
+    private final Set<String> generatedMappers = new LinkedHashSet<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        TypeElement generateMapper = processingEnv.getElementUtils().getTypeElement(GENERATE_MAPPER);
+        if(generateMapper != null){
+            for(Element annotated: roundEnv.getElementsAnnotatedWith(generateMapper)){
+                if(annotated.getKind() != ElementKind.CLASS){
+                    continue;
+                }
+                TypeElement destination = (TypeElement) annotated;
+                for(TypeElement source: sourcesOf(destination)){
+                    generateMapper(source, destination);
+                }
+            }
+        }
+        if( roundEnv.processingOver() && !generatedMappers.isEmpty() ){
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private void generateMapper(TypeElement source, TypeElement destination){
+
+        List<String[]> copies = new ArrayList<>();
+        List<String> mappedFields = new ArrayList<>();
+        Set<String> seenFieldNames = new HashSet<>();
+        Set<String> shadowedFieldNames = new HashSet<>();
+        for(VariableElement field: fieldsAlongTheHierarchy(destination)){
+            if( !seenFieldNames.add(field.getSimpleName().toString()) ){
+                shadowedFieldNames.add(field.getSimpleName().toString());
+            }
+        }
+        for(VariableElement field: fieldsAlongTheHierarchy(destination)){
+            String fieldName = field.getSimpleName().toString();
+            //Shadowed fields cannot be told apart by name at runtime
+            if( shadowedFieldNames.contains(fieldName) || !isSharedAsIs(field.asType()) ){
+                continue;
+            }
+            ExecutableElement getter = publicMethod(source, getterNameOf(field), null);
+            ExecutableElement setter = publicMethod(destination, "set" + capitalize(fieldName), field.asType());
+            if(getter == null || setter == null || setter.getReturnType().getKind() != TypeKind.VOID
+                    || !processingEnv.getTypeUtils().isSameType(getter.getReturnType(), field.asType())){
+                continue;
+            }
+            copies.add(new String[]{ fieldName, setter.getSimpleName().toString(), getter.getSimpleName().toString() });
+            mappedFields.add(fieldName);
+        }
+        if( mappedFields.isEmpty() ){
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    String.format("No field of %s can be copied straight from %s, no mapper generated",
+                            destination.getQualifiedName(), source.getQualifiedName()), destination);
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(destination).getQualifiedName().toString();
+        String simpleName  = flatNameOf(destination) + "From" + flatNameOf(source) + "Mapper";
+        String qualifiedName = packageName.isEmpty()? simpleName: packageName + "." + simpleName;
+        writeMapper(qualifiedName, packageName, simpleName, source, destination, copies, mappedFields);
+        generatedMappers.add(qualifiedName);
+    }
+
+    private void writeMapper(String qualifiedName, String packageName, String simpleName, TypeElement source,
+                             TypeElement destination, List<String[]> copies, List<String> mappedFields){
+
+        String src = source.getQualifiedName().toString();
+        String dst = destination.getQualifiedName().toString();
+        StringBuilder fields = new StringBuilder();
+        for(String curr: mappedFields){
+            fields.append(fields.length() == 0? "": ", ").append('"').append(curr).append('"');
+        }
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, destination, source);
+            try (Writer out = file.openWriter()) {
+                if( !packageName.isEmpty() ){
+                    out.write("package " + packageName + ";\n\n");
+                }
+                out.write("/**\n * Generated by " + MapperProcessor.class.getName() + " from " + dst + " mappings,"
+                        + " do not edit\n */\n");
+                out.write("public final class " + simpleName + " implements " + COMPILED_MAPPER
+                        + "<" + src + ", " + dst + "> {\n\n");
+                out.write("    private static final String[] MAPPED_FIELDS = { " + fields + " };\n\n");
+                out.write("    @Override public Class<" + src + "> sourceType() {\n");
+                out.write("        return " + src + ".class;\n    }\n\n");
+                out.write("    @Override public Class<" + dst + "> destinationType() {\n");
+                out.write("        return " + dst + ".class;\n    }\n\n");
+                out.write("    @Override public String[] mappedFields() {\n");
+                out.write("        return MAPPED_FIELDS.clone();\n    }\n\n");
+                out.write("    @Override public void map(" + src + " source, " + dst + " destination) {\n");
+                for(String[] copy: copies){
+                    out.write("        destination." + copy[1] + "( source." + copy[2] + "() );\n");
+                }
+                out.write("    }\n}\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Cannot write mapper %s: %s", qualifiedName, e.getMessage()), destination);
+        }
+    }
+
+    private void writeServiceFile(){
+        Filer filer = processingEnv.getFiler();
+        Set<String> mappers = new LinkedHashSet<>( listedMappers(filer) );
+        mappers.addAll( generatedMappers );
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer out = file.openWriter()) {
+                for(String curr: mappers){
+                    out.write(curr + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Cannot write %s service file: %s", COMPILED_MAPPER, e.getMessage()));
+        }
+    }
+
+    /**
+     * Read the mappers listed by a previous build, dropping those whose class is gone
+     *
+     * @param filer
+     * @return the listed class names, empty when there is no service file yet
+     */
+    private List<String> listedMappers(Filer filer){
+        List<String> listed = new ArrayList<>();
+        try {
+            FileObject file = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader in = new BufferedReader( file.openReader(true) )) {
+                String line;
+                while( (line = in.readLine()) != null ){
+                    String name = line.trim();
+                    if( !name.isEmpty() && processingEnv.getElementUtils().getTypeElement(name) != null ){
+                        listed.add( name );
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            //First build, nothing listed yet
+        }
+        return listed;
+    }
+
+    /**
+     * Read the source classes given on <tt>@GenerateMapper(from = ...)</tt>
+     *
+     * @param destination
+     * @return
+     */
+    private List<TypeElement> sourcesOf(TypeElement destination){
+        List<TypeElement> sources = new ArrayList<>();
+        for(AnnotationMirror mirror: destination.getAnnotationMirrors()){
+            if( !GENERATE_MAPPER.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()) ){
+                continue;
+            }
+            for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry:
+                    mirror.getElementValues().entrySet()){
+                Object value = entry.getValue().getValue();
+                List<?> values = value instanceof List? (List<?>) value: Arrays.asList(entry.getValue());
+                for(Object curr: values){
+                    TypeMirror type = (TypeMirror) ((AnnotationValue) curr).getValue();
+                    sources.add( (TypeElement) processingEnv.getTypeUtils().asElement(type) );
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Same order as ReflectionUtils.getClazzFieldsAlongTheHierarchy: class own fields first then its ancestors ones
+     *
+     * @param clazz
+     * @return
+     */
+    private List<VariableElement> fieldsAlongTheHierarchy(TypeElement clazz){
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement node = clazz;
+        while( node != null && !Object.class.getName().equals(node.getQualifiedName().toString()) ){
+            for(VariableElement curr: ElementFilter.fieldsIn(node.getEnclosedElements())){
+                if( !curr.getModifiers().contains(Modifier.STATIC) ){
+                    fields.add(curr);
+                }
+            }
+            node = superclassOf(node);
+        }
+        return fields;
+    }
+
+    /**
+     * Lookup a public instance method walking up the class hierarchy
+     *
+     * @param clazz
+     * @param name
+     * @param parameterType the single parameter type or null for a no-args method
+     * @return
+     */
+    private ExecutableElement publicMethod(TypeElement clazz, String name, TypeMirror parameterType){
+        TypeElement node = clazz;
+        while( node != null ){
+            for(ExecutableElement curr: ElementFilter.methodsIn(node.getEnclosedElements())){
+                if( !curr.getSimpleName().contentEquals(name) ){
+                    continue;
+                }
+                List<? extends VariableElement> parameters = curr.getParameters();
+                boolean parametersMatch = parameterType == null? parameters.isEmpty():
+                        parameters.size() == 1
+                                && processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(), parameterType);
+                if( parametersMatch ){
+                    Set<Modifier> modifiers = curr.getModifiers();
+                    return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+                            && isPublicType(clazz) && isPublicType(node)? curr: null;
+                }
+            }
+            node = superclassOf(node);
+        }
+        return null;
+    }
+
+    private String getterNameOf(VariableElement field){
+        for(AnnotationMirror mirror: field.getAnnotationMirrors()){
+            if( MAPPABLE.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()) ){
+                for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry:
+                        mirror.getElementValues().entrySet()){
+                    if( entry.getKey().getSimpleName().contentEquals("methodName") ){
+                        return entry.getValue().getValue().toString();
+                    }
+                }
+            }
+        }
+        String prefix = Boolean.class.getName().equals(field.asType().toString())? "is": "get";
+        return prefix + capitalize(field.getSimpleName().toString());
+    }
+
+    /**
+     * Values ModelMapper shares instead of copying in any case. Other classes ImmutableTypes shares (BigDecimal,
+     * java.time...) or that are registered at runtime are not decided here, their fields are left to ModelMapper
+     * so it applies the runtime rules to them
+     *
+     * @param type
+     * @return
+     */
+    private boolean isSharedAsIs(TypeMirror type){
+        if( type.getKind().isPrimitive() ){
+            return true;
+        }
+        if( type.getKind() != TypeKind.DECLARED ){
+            return false;
+        }
+        TypeElement clazz = (TypeElement) ((DeclaredType) type).asElement();
+        return clazz.getKind() == ElementKind.ENUM
+                || SHARED_AS_IS_TYPES.contains( clazz.getQualifiedName().toString() )
+                || isAnnotatedImmutable(clazz);
+    }
+
+    /**
+     * @Immutable is not inherited, only the class itself counts
+     */
+    private boolean isAnnotatedImmutable(TypeElement clazz){
+        for(AnnotationMirror mirror: clazz.getAnnotationMirrors()){
+            if( IMMUTABLE.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()) ){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeElement superclassOf(TypeElement clazz){
+        TypeMirror superclass = clazz.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED?
+                (TypeElement) ((DeclaredType) superclass).asElement(): null;
+    }
+
+    private boolean isPublicType(TypeElement clazz){
+        Element node = clazz;
+        while( node != null && !(node instanceof PackageElement) ){
+            if( !node.getModifiers().contains(Modifier.PUBLIC) ){
+                return false;
+            }
+            node = node.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String flatNameOf(TypeElement clazz){
+        String packageName = processingEnv.getElementUtils().getPackageOf(clazz).getQualifiedName().toString();
+        String qualifiedName = clazz.getQualifiedName().toString();
+        return (packageName.isEmpty()? qualifiedName: qualifiedName.substring(packageName.length() + 1))
+                .replace('.', '_');
+    }
+
+    private static String capitalize(String name){
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,174 @@
+package com.dynamicmapper.commons;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, introspected view of a class: every reflective question the mapper asks about a class is answered
+ * once, when the descriptor is built, and then served from here.
+ *
+ * Fields and methods are collected walking up the hierarchy until {@link Object}, fields in declaration order
+ * (subclass first), methods sorted by name so they can be binary searched.
+ *
+ * Descriptors are handed out by {@link ClassMetadataRegistry} and shared between threads, every list is
+ * unmodifiable
+ */
+public final class ClassDescriptor {
+
+
+    private static final Comparator<Method> COMPARE_METHOD_BY_NAME = new Comparator<Method>() {
+        @Override
+        public int compare(Method o1, Method o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
+    private final Class<?>          type;
+    private final List<Field>       fields;
+    private final List<Method>      methods;
+    private final List<Method>      getters;
+    private final List<Method>      setters;
+    private final List<Annotation>  annotations;
+    private final Map<Field, Type>  genericTypes;
+    private final PropertyIndex     propertyIndex;
+
+
+    ClassDescriptor(Class<?> type) {
+
+        List<Field>  collectedFields  = new ArrayList<>();
+        List<Method> collectedMethods = new ArrayList<>();
+        Class<?> clazzNode = type;
+        Class<?> root      = Object.class;
+        do{
+            collectedFields.addAll( Arrays.asList( clazzNode.getDeclaredFields() ) );
+            collectedMethods.addAll( Arrays.asList( clazzNode.getDeclaredMethods() ) );
+            clazzNode = clazzNode.getSuperclass();
+        }while( clazzNode!=null && clazzNode!= root);
+        Collections.sort(collectedMethods, COMPARE_METHOD_BY_NAME);
+
+        List<Method> collectedGetters = new ArrayList<>();
+        List<Method> collectedSetters = new ArrayList<>();
+        for(Method curr: collectedMethods){
+            if( isGetter(curr) ){
+                collectedGetters.add( curr );
+            }
+            else if( isSetter(curr) ){
+                collectedSetters.add( curr );
+            }
+        }
+        Map<Field, Type> collectedGenericTypes = new HashMap<>();
+        for(Field curr: collectedFields){
+            collectedGenericTypes.put( curr, curr.getGenericType() );
+        }
+
+        this.type          = type;
+        this.fields        = Collections.unmodifiableList( collectedFields );
+        this.methods       = Collections.unmodifiableList( collectedMethods );
+        this.getters       = Collections.unmodifiableList( collectedGetters );
+        this.setters       = Collections.unmodifiableList( collectedSetters );
+        this.annotations   = Collections.unmodifiableList( Arrays.asList( type.getAnnotations() ) );
+        this.genericTypes  = Collections.unmodifiableMap( collectedGenericTypes );
+        this.propertyIndex = new PropertyIndex( fields, methods, getters, setters );
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return declared fields of the class and its ancestors, subclass first
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return declared methods of the class and its ancestors sorted by name
+     */
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return public, non static, no args <tt>getX()</tt> / <tt>isX()</tt> methods sorted by name
+     */
+    public List<Method> getGetters() {
+        return getters;
+    }
+
+    /**
+     * @return public, non static, single arg <tt>setX(..)</tt> methods sorted by name
+     */
+    public List<Method> getSetters() {
+        return setters;
+    }
+
+    /**
+     * @return annotations present on the class, inherited ones included
+     */
+    public List<Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * @param field a field of this class or one of its ancestors
+     * @return the generic type of the field e.g: <tt>List&lt;Course&gt;</tt>, or <tt>null</tt> if it is not one of
+     * this class fields
+     */
+    public Type getGenericTypeOf(Field field) {
+        return genericTypes.get( field );
+    }
+
+    /**
+     * @return name indexed properties and accessors of the class
+     */
+    public PropertyIndex getPropertyIndex() {
+        return propertyIndex;
+    }
+
+    /**
+     * @param annotation
+     * @return fields of the class and its ancestors carrying the given annotation
+     */
+    public List<Field> getFieldsAnnotatedWith(Class<? extends Annotation> annotation) {
+        List<Field> annotated = new ArrayList<>();
+        for(Field curr: fields){
+            if( curr.isAnnotationPresent( annotation ) ){
+                annotated.add( curr );
+            }
+        }
+        return annotated;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static boolean isGetter(Method method){
+        String name = method.getName();
+        return isPublicInstanceMethod(method)
+                && method.getParameterTypes().length == 0
+                && method.getReturnType() != void.class
+                && ( (name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2) );
+    }
+
+    private static boolean isSetter(Method method){
+        String name = method.getName();
+        return isPublicInstanceMethod(method)
+                && method.getParameterTypes().length == 1
+                && name.startsWith("set") && name.length() > 3;
+    }
+
+    private static boolean isPublicInstanceMethod(Method method){
+        int modifiers = method.getModifiers();
+        return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && !method.isSynthetic();
+    }
+}
@@ -0,0 +1,97 @@
+package com.dynamicmapper.commons;
+
+/**
+ * Registry of {@link ClassDescriptor}s, a class is introspected once and its descriptor served from a bounded
+ * {@link ConcurrentLRUCache} keyed by the very class that was asked for.
+ *
+ * Hit, miss and eviction counters are exposed so it can be checked the cache is doing its job
+ */
+public final class ClassMetadataRegistry {
+
+
+    private static final int CACHE_DEFAULT_CAPACITY = 256;
+
+    //Lazily initialized
+    private static volatile ClassMetadataRegistry instance;
+
+    private final ConcurrentLRUCache< Class<?>, ClassDescriptor > descriptors;
+
+
+    private ClassMetadataRegistry(){
+        this.descriptors = new ConcurrentLRUCache<>(CACHE_DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get this class instance
+     *
+     * using "Double-Checked Locking" idiom
+     *
+     * @return the singleton of this class
+     */
+    public static ClassMetadataRegistry getInstance(){
+
+        if(instance == null){
+            synchronized ( ClassMetadataRegistry.class ){
+                if(instance == null){
+                    instance = new ClassMetadataRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the descriptor of clazz, introspecting it on first use
+     *
+     * @param clazz
+     * @return
+     */
+    public ClassDescriptor descriptorOf(Class<?> clazz){
+
+        ClassDescriptor descriptor = descriptors.get( clazz );
+        if(descriptor == null){
+            descriptor = new ClassDescriptor( clazz );
+            //Two threads might have introspected the same class, keep the first one so everybody shares it
+            ClassDescriptor raced = descriptors.putIfAbsent( clazz, descriptor );
+            if(raced != null){
+                descriptor = raced;
+            }
+        }
+        return descriptor;
+    }
+
+    public long getHitCount(){
+        return descriptors.getHitCount();
+    }
+
+    public long getMissCount(){
+        return descriptors.getMissCount();
+    }
+
+    public long getEvictionCount(){
+        return descriptors.getEvictionCount();
+    }
+
+    public int size(){
+        return descriptors.size();
+    }
+
+    public int getCapacity(){
+        return descriptors.getCapacity();
+    }
+
+    public void setCapacity(int capacity){
+        descriptors.setCapacity( capacity );
+    }
+
+    public void setEvictionListener(ConcurrentLRUCache.EvictionListener<? super Class<?>, ? super ClassDescriptor> listener){
+        descriptors.setEvictionListener( listener );
+    }
+
+    /**
+     * Drop every descriptor, counters are kept
+     */
+    public void clear(){
+        descriptors.clear();
+    }
+}
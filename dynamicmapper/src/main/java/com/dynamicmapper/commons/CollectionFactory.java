@@ -1,78 +1,450 @@
-package com.dynamicmapper.commons;
-
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.*;
-
-/**
- *
- * A Collection factory used by Mapper to abstracting when a specific subtypes or Interface on Mappings
- *
- *
- * @authored by: Walter Dumba
- */
-public class CollectionFactory {
-
-
-
-
-    enum FrameWorkSupportedTypesEnum {
-
-        SET(Set.class.getName(),                HashSet.class        ),
-        COLLECTION(Collection.class.getName(),  ArrayList.class      ),
-        LIST(List.class.getName(),              ArrayList.class      ),
-        ARRAYLIST("java.util.Arrays.ArrayList", ArrayList.class      ),//The special one
-        LINKEDLIST(LinkedList.class.getName(),  LinkedList.class     ),
-        HASHSET(HashSet.class.getName(),        HashSet.class        ),
-        MAP(Map.class.getName(),                HashMap.class        ),
-        HASHMAP(HashMap.class.getName(),        HashMap.class        ),
-        HASHTABLE(Hashtable.class.getName(),    Hashtable.class      );
-
-        private final String className;
-        private final Class<?> type;
-
-
-        FrameWorkSupportedTypesEnum(String clazzFullQualifiedName, Class<?>type ) {
-            this.className  = clazzFullQualifiedName;
-            this.type       = type;
-        }
-
-        public String getClassName() {
-            return className;
-        }
-
-        public Class<?> getType() {
-            return type;
-        }
-
-        public static FrameWorkSupportedTypesEnum forClazzFullQualifiedName(String clazzFqN){
-            for(FrameWorkSupportedTypesEnum curr: values()){
-                if(curr.getClassName().equals(clazzFqN)){
-                    return curr;
-                }
-            }
-            throw new RuntimeException(String.format("Unable to lookup implementation for:%s", clazzFqN));
-        }
-    }
-
-    public static <D> D newInstanceOf(String clazzName){
-
-        FrameWorkSupportedTypesEnum impl = FrameWorkSupportedTypesEnum.forClazzFullQualifiedName( clazzName );
-        Constructor<D> c;
-        try {
-            c = (Constructor<D>) impl.getType().getConstructor();
-            if( !c.isAccessible()){
-                c.setAccessible(true);
-            }
-            return  c.newInstance();
-        } catch (NoSuchMethodException | IllegalAccessException |
-                InstantiationException | InvocationTargetException e) {
-            throw new RuntimeException(String
-                    .format("Cannot instantiate reflective object from class %s: type not supported",
-                            clazzName));
-        }
-    }
-
-
-
-}
+package com.dynamicmapper.commons;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *
+ * A Collection factory used by Mapper to abstracting when a specific subtypes or Interface on Mappings
+ *
+ * Instances are created by the {@link CollectionInstantiator} registered for their exact class, sized for the
+ * number of elements they are going to hold. Sorted collections keep the comparator of the collection they copy,
+ * bounded queues its capacity and enum collections its enum type.
+ *
+ * Classes not registered are resolved once: through their public default constructor when they have one, otherwise
+ * through the closest supported interface (e.g: the list of Arrays.asList becomes an ArrayList).
+ * Our own types are plugged with {@link #register(Class, CollectionInstantiator)} or a
+ * {@link CollectionInstantiatorProvider} service
+ *
+ *
+ * @authored by: Walter Dumba
+ */
+public class CollectionFactory {
+
+
+    //Exact class to instantiator, classes resolved by fallback are cached here too
+    private static final ConcurrentMap<Class<?>, CollectionInstantiator> instantiators = new ConcurrentHashMap<>();
+
+    //Names of the classes above, canonical names included, for newInstanceOf(String)
+    private static final ConcurrentMap<String, Class<?>> namedTypes = new ConcurrentHashMap<>();
+
+    static {
+        for(JdkInstantiator curr: JdkInstantiator.values()){
+            register( curr.getType(), curr );
+        }
+        //The special one
+        namedTypes.put( "java.util.Arrays.ArrayList", ArrayList.class );
+        for(CollectionInstantiatorProvider provider: ServiceLoader.load( CollectionInstantiatorProvider.class )){
+            for(Map.Entry<Class<?>, CollectionInstantiator> curr: provider.getInstantiators().entrySet()){
+                register( curr.getKey(), curr.getValue() );
+            }
+        }
+    }
+
+
+    /**
+     * Register how instances of type are created, replacing the current instantiator if any
+     *
+     * @param type         a collection or map class
+     * @param instantiator
+     */
+    public static void register(Class<?> type, CollectionInstantiator instantiator){
+        if(type == null || instantiator == null){
+            throw new IllegalArgumentException("type and instantiator cannot be null");
+        }
+        instantiators.put( type, instantiator );
+        namedTypes.put( type.getName(), type );
+        if(type.getCanonicalName() != null){
+            namedTypes.put( type.getCanonicalName(), type );
+        }
+    }
+
+    /**
+     * Get the instantiator creating instances of type
+     *
+     * @param type a collection or map class
+     * @return
+     */
+    public static CollectionInstantiator instantiatorOf(Class<?> type){
+        CollectionInstantiator instantiator = instantiators.get( type );
+        if(instantiator == null){
+            instantiator = resolve( type );
+            CollectionInstantiator raced = instantiators.putIfAbsent( type, instantiator );
+            if(raced != null){
+                instantiator = raced;
+            }
+        }
+        return instantiator;
+    }
+
+    /**
+     * Create an empty collection or map of the same class as source, with the same settings
+     *
+     * @param source       a collection or map
+     * @param expectedSize number of elements the new instance is going to hold
+     * @param <D>
+     * @return
+     */
+    public static <D> D newInstance(Object source, int expectedSize){
+        return (D) instantiatorOf( source.getClass() ).newInstance( source, expectedSize );
+    }
+
+    /**
+     * Create an empty collection or map of type
+     *
+     * @param type         a collection or map class, interfaces included
+     * @param expectedSize number of elements the new instance is going to hold
+     * @param <D>
+     * @return
+     */
+    public static <D> D newInstance(Class<?> type, int expectedSize){
+        return (D) instantiatorOf( type ).newInstance( null, expectedSize );
+    }
+
+    public static <D> D newInstanceOf(String clazzName){
+
+        Class<?> type = namedTypes.get( clazzName );
+        if(type == null){
+            throw new RuntimeException(String.format("Unable to lookup implementation for:%s", clazzName));
+        }
+        return newInstance( type, 0 );
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static CollectionInstantiator resolve(Class<?> type){
+
+        if( !Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type) ){
+            throw new RuntimeException(String.format("Unable to lookup implementation for:%s", type.getName()));
+        }
+        if( EnumSet.class.isAssignableFrom(type) ){
+            return JdkInstantiator.ENUMSET;
+        }
+        if( !type.isInterface() && !Modifier.isAbstract(type.getModifiers()) ){
+            try {
+                return new ReflectiveInstantiator( type.getConstructor() );
+            } catch (NoSuchMethodException | RuntimeException e) {
+                //Not instantiable, e.g: a private implementation, falls back to its interface
+            }
+        }
+        for(JdkInstantiator curr: JdkInstantiator.FALLBACKS){
+            if( curr.getType().isAssignableFrom(type) ){
+                return curr;
+            }
+        }
+        throw new RuntimeException(String.format("Unable to lookup implementation for:%s", type.getName()));
+    }
+
+    /**
+     * Capacity of a hash based collection holding expectedSize elements without rehashing
+     */
+    private static int hashCapacityOf(int expectedSize){
+        return expectedSize < 3? expectedSize + 1: (int) (expectedSize / 0.75f + 1.0f);
+    }
+
+    private static Comparator<Object> comparatorOf(Object source){
+        if(source instanceof SortedSet){
+            return ((SortedSet<Object>) source).comparator();
+        }
+        if(source instanceof SortedMap){
+            return ((SortedMap<Object, ?>) source).comparator();
+        }
+        if(source instanceof PriorityQueue){
+            return ((PriorityQueue<Object>) source).comparator();
+        }
+        if(source instanceof PriorityBlockingQueue){
+            return ((PriorityBlockingQueue<Object>) source).comparator();
+        }
+        return null;
+    }
+
+    /**
+     * Capacity of a bounded queue, unbounded when there is no source to take it from
+     */
+    private static int capacityOf(Object source){
+        if(source instanceof BlockingQueue){
+            BlockingQueue<?> queue = (BlockingQueue<?>) source;
+            long capacity = (long) queue.size() + queue.remainingCapacity();
+            return (int) Math.min( capacity, Integer.MAX_VALUE );
+        }
+        return Integer.MAX_VALUE;
+    }
+
+
+    private static final class ReflectiveInstantiator implements CollectionInstantiator {
+
+        private final Constructor<?> constructor;
+
+        ReflectiveInstantiator(Constructor<?> constructor) {
+            if( !constructor.isAccessible() ){
+                constructor.setAccessible(true);
+            }
+            this.constructor = constructor;
+        }
+
+        @Override
+        public Object newInstance(Object source, int expectedSize) {
+            try {
+                return constructor.newInstance();
+            } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+                throw new RuntimeException(String
+                        .format("Cannot instantiate reflective object from class %s: type not supported",
+                                constructor.getDeclaringClass().getName()));
+            }
+        }
+    }
+
+
+    enum JdkInstantiator implements CollectionInstantiator {
+
+        /* INTERFACES */
+        COLLECTION(Collection.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ArrayList<>(expectedSize);
+            }
+        },
+        LIST(List.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ArrayList<>(expectedSize);
+            }
+        },
+        SET(Set.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new HashSet<>(hashCapacityOf(expectedSize));
+            }
+        },
+        SORTEDSET(SortedSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new TreeSet<>(comparatorOf(source));
+            }
+        },
+        NAVIGABLESET(NavigableSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new TreeSet<>(comparatorOf(source));
+            }
+        },
+        QUEUE(Queue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ArrayDeque<>(expectedSize);
+            }
+        },
+        DEQUE(Deque.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ArrayDeque<>(expectedSize);
+            }
+        },
+        BLOCKINGQUEUE(BlockingQueue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new LinkedBlockingQueue<>(capacityOf(source));
+            }
+        },
+        MAP(Map.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new HashMap<>(hashCapacityOf(expectedSize));
+            }
+        },
+        SORTEDMAP(SortedMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new TreeMap<>(comparatorOf(source));
+            }
+        },
+        NAVIGABLEMAP(NavigableMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new TreeMap<>(comparatorOf(source));
+            }
+        },
+        CONCURRENTMAP(ConcurrentMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentHashMap<>(hashCapacityOf(expectedSize));
+            }
+        },
+        CONCURRENTNAVIGABLEMAP(ConcurrentNavigableMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentSkipListMap<>(comparatorOf(source));
+            }
+        },
+
+        /* LISTS AND QUEUES */
+        ARRAYLIST(ArrayList.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ArrayList<>(expectedSize);
+            }
+        },
+        LINKEDLIST(LinkedList.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new LinkedList<>();
+            }
+        },
+        VECTOR(Vector.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new Vector<>(Math.max(expectedSize, 1));
+            }
+        },
+        STACK(Stack.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new Stack<>();
+            }
+        },
+        ARRAYDEQUE(ArrayDeque.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ArrayDeque<>(expectedSize);
+            }
+        },
+        PRIORITYQUEUE(PriorityQueue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new PriorityQueue<>(Math.max(expectedSize, 1), comparatorOf(source));
+            }
+        },
+
+        /* SETS */
+        HASHSET(HashSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new HashSet<>(hashCapacityOf(expectedSize));
+            }
+        },
+        LINKEDHASHSET(LinkedHashSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new LinkedHashSet<>(hashCapacityOf(expectedSize));
+            }
+        },
+        TREESET(TreeSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new TreeSet<>(comparatorOf(source));
+            }
+        },
+        //Abstract, every enum set class resolves to it
+        ENUMSET(EnumSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                if( !(source instanceof EnumSet) ){
+                    throw new RuntimeException("Cannot instantiate an EnumSet without knowing its enum type");
+                }
+                EnumSet<?> copy = ((EnumSet<?>) source).clone();
+                copy.clear();
+                return copy;
+            }
+        },
+
+        /* MAPS */
+        HASHMAP(HashMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new HashMap<>(hashCapacityOf(expectedSize));
+            }
+        },
+        //Insertion ordered, the access order flag of source cannot be read
+        LINKEDHASHMAP(LinkedHashMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new LinkedHashMap<>(hashCapacityOf(expectedSize));
+            }
+        },
+        HASHTABLE(Hashtable.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new Hashtable<>(Math.max(hashCapacityOf(expectedSize), 1));
+            }
+        },
+        IDENTITYHASHMAP(IdentityHashMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new IdentityHashMap<>(expectedSize);
+            }
+        },
+        WEAKHASHMAP(WeakHashMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new WeakHashMap<>(hashCapacityOf(expectedSize));
+            }
+        },
+        TREEMAP(TreeMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new TreeMap<>(comparatorOf(source));
+            }
+        },
+        ENUMMAP(EnumMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                if( !(source instanceof EnumMap) ){
+                    throw new RuntimeException("Cannot instantiate an EnumMap without knowing its enum type");
+                }
+                //Copying then clearing is the only public way to get the key type of source
+                EnumMap<?, ?> copy = new EnumMap<>((EnumMap<?, ?>) source);
+                copy.clear();
+                return copy;
+            }
+        },
+
+        /* CONCURRENT */
+        CONCURRENTHASHMAP(ConcurrentHashMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentHashMap<>(hashCapacityOf(expectedSize));
+            }
+        },
+        CONCURRENTSKIPLISTMAP(ConcurrentSkipListMap.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentSkipListMap<>(comparatorOf(source));
+            }
+        },
+        CONCURRENTSKIPLISTSET(ConcurrentSkipListSet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentSkipListSet<>(comparatorOf(source));
+            }
+        },
+        COPYONWRITEARRAYLIST(CopyOnWriteArrayList.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new CopyOnWriteArrayList<>();
+            }
+        },
+        COPYONWRITEARRAYSET(CopyOnWriteArraySet.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new CopyOnWriteArraySet<>();
+            }
+        },
+        CONCURRENTLINKEDQUEUE(ConcurrentLinkedQueue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentLinkedQueue<>();
+            }
+        },
+        CONCURRENTLINKEDDEQUE(ConcurrentLinkedDeque.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new ConcurrentLinkedDeque<>();
+            }
+        },
+        LINKEDBLOCKINGQUEUE(LinkedBlockingQueue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new LinkedBlockingQueue<>(capacityOf(source));
+            }
+        },
+        LINKEDBLOCKINGDEQUE(LinkedBlockingDeque.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new LinkedBlockingDeque<>(capacityOf(source));
+            }
+        },
+        ARRAYBLOCKINGQUEUE(ArrayBlockingQueue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                int capacity = source == null? Math.max(expectedSize, 1): capacityOf(source);
+                return new ArrayBlockingQueue<>(capacity);
+            }
+        },
+        PRIORITYBLOCKINGQUEUE(PriorityBlockingQueue.class) {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new PriorityBlockingQueue<>(Math.max(expectedSize, 1), comparatorOf(source));
+            }
+        };
+
+        //Tried in order for classes not registered, most specific interfaces first
+        static final JdkInstantiator[] FALLBACKS = {
+                CONCURRENTNAVIGABLEMAP, CONCURRENTMAP, NAVIGABLEMAP, SORTEDMAP, MAP,
+                NAVIGABLESET, SORTEDSET, SET,
+                LIST, BLOCKINGQUEUE, DEQUE, QUEUE, COLLECTION
+        };
+
+        private final Class<?> type;
+
+
+        JdkInstantiator(Class<?> type) {
+            this.type = type;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.dynamicmapper.commons;
+
+/**
+ * Creates empty collections or maps of one type, registered on {@link CollectionFactory}
+ */
+public interface CollectionInstantiator {
+
+    /**
+     * @param source       the collection or map the new instance is a copy of, used to carry over its settings
+     *                     (comparator, bounded capacity, enum type...); might be <tt>null</tt>
+     * @param expectedSize number of elements the new instance is going to hold, so it is sized once
+     * @return an empty collection or map
+     */
+    Object newInstance(Object source, int expectedSize);
+}
@@ -0,0 +1,17 @@
+package com.dynamicmapper.commons;
+
+import java.util.Map;
+
+/**
+ * Service provider plugging our own collection types into {@link CollectionFactory}.
+ *
+ * Implementations are looked up with {@link java.util.ServiceLoader} the first time the factory is used, so they
+ * are registered by listing them in <tt>META-INF/services/com.dynamicmapper.commons.CollectionInstantiatorProvider</tt>
+ */
+public interface CollectionInstantiatorProvider {
+
+    /**
+     * @return the instantiators to register, keyed by the type they create
+     */
+    Map<Class<?>, CollectionInstantiator> getInstantiators();
+}
@@ -0,0 +1,326 @@
+package com.dynamicmapper.commons;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *
+ * A thread safe, bounded cache with approximate LRU ( Least Recently Used ) eviction
+ *
+ * Unlike an access ordered LinkedHashMap, a read is not a structural modification: entries live in a {@link ConcurrentHashMap}
+ * and a hit only stamps the entry with the current tick of a coarse clock, so readers never block each other.
+ * The clock ticks once per entry added, so a hit writes the entry only the first time it is read since the last add
+ * and repeated hits on hot entries leave their cache lines alone.
+ * Every entry also takes a random slot of a table twice the capacity, so when a put goes over capacity the writer
+ * samples a few slots from a random position and evicts the entry with the eldest stamp among them, taking no lock.
+ * Stamps are written without synchronization and only a sample is compared, that's why the order is only
+ * approximately LRU, which is what a metadata cache needs anyway
+ *
+ * Hits, misses and evictions are counted so callers can check the cache actually pays off, an
+ * {@link EvictionListener} can be told about each eviction
+ *
+ */
+public class ConcurrentLRUCache<K, V> {
+
+
+    //Entries compared per eviction, enough for the eldest of them to be among the eldest of the cache
+    private static final int EVICTION_SAMPLES = 5;
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries;
+    //Sampling table, replaced when the capacity changes
+    private volatile AtomicReferenceArray<Entry<K, V>> slots;
+    private final ReentrantLock resizeLock = new ReentrantLock();
+
+    //Statistics, LongAdder so counting doesn't become the contention point
+    private final LongAdder hits      = new LongAdder();
+    private final LongAdder misses    = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile int cacheSize;
+
+    //Coarse recency clock, see touch
+    private volatile int clock;
+
+    private volatile EvictionListener<? super K, ? super V> evictionListener;
+
+
+    public ConcurrentLRUCache(int capacity) {
+        if(capacity <= 0){
+            throw new IllegalArgumentException(String.format("Cache capacity must be positive: %d", capacity));
+        }
+        this.entries   = new ConcurrentHashMap<>(capacity);
+        this.slots     = new AtomicReferenceArray<>( slotsFor(capacity) );
+        this.cacheSize = capacity;
+    }
+
+    /**
+     * @param key
+     * @return the cached value or <tt>null</tt> if there is none
+     */
+    public V get(K key){
+        Entry<K, V> entry = entries.get(key);
+        if(entry == null){
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        touch(entry);
+        return entry.value;
+    }
+
+    public boolean containsKey(K key){
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Cache the value, evicting least recently used entries if the cache goes over its capacity
+     *
+     * @param key
+     * @param value
+     * @return the previous value or <tt>null</tt>
+     */
+    public V put(K key, V value){
+        Entry<K, V> entry = new Entry<>(key, value, tick());
+        Entry<K, V> previous = entries.put(key, entry);
+        if(previous != null){
+            release(previous);
+        }
+        track(entry);
+        evictIfNeeded();
+        return previous == null? null: previous.value;
+    }
+
+    /**
+     * Cache the value unless there is already one for the key
+     *
+     * @param key
+     * @param value
+     * @return the value already cached, or <tt>null</tt> if the given one was stored
+     */
+    public V putIfAbsent(K key, V value){
+        Entry<K, V> entry = new Entry<>(key, value, clock);
+        Entry<K, V> previous = entries.putIfAbsent(key, entry);
+        if(previous != null){
+            touch(previous);
+            return previous.value;
+        }
+        tick();
+        track(entry);
+        evictIfNeeded();
+        return null;
+    }
+
+    public V remove(K key){
+        Entry<K, V> removed = entries.remove(key);
+        if(removed == null){
+            return null;
+        }
+        release(removed);
+        return removed.value;
+    }
+
+    public int size(){
+        return entries.size();
+    }
+
+    public void clear(){
+        for(K curr: entries.keySet()){
+            remove(curr);
+        }
+    }
+
+    public long getHitCount(){
+        return hits.sum();
+    }
+
+    public long getMissCount(){
+        return misses.sum();
+    }
+
+    public long getEvictionCount(){
+        return evictions.sum();
+    }
+
+    public int getCapacity(){
+        return cacheSize;
+    }
+
+    /**
+     * Change the capacity, shrinking evicts right away
+     *
+     * @param capacity
+     */
+    public void setCapacity(int capacity){
+        if(capacity <= 0){
+            throw new IllegalArgumentException(String.format("Cache capacity must be positive: %d", capacity));
+        }
+        resizeLock.lock();
+        try {
+            this.cacheSize = capacity;
+            if(slots.length() != slotsFor(capacity)){
+                //Published first, so entries tracked meanwhile go to the new table too
+                slots = new AtomicReferenceArray<>( slotsFor(capacity) );
+                for(Entry<K, V> curr: entries.values()){
+                    track(curr);
+                }
+            }
+        } finally {
+            resizeLock.unlock();
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * @param listener notified of the entries dropped to make room, null for none
+     */
+    public void setEvictionListener(EvictionListener<? super K, ? super V> listener){
+        this.evictionListener = listener;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static int slotsFor(int capacity){
+        int size = Integer.highestOneBit( Math.max(1, capacity - 1) ) << 2;
+        return size > 0? size: 1 << 30;
+    }
+
+    /**
+     * Advance the recency clock. The increment isn't atomic, writers racing on it may share a tick, which only makes
+     * their entries equally recent
+     */
+    private int tick(){
+        int now = clock + 1;
+        clock = now;
+        return now;
+    }
+
+    /**
+     * Stamp entry with the current tick. The stamp is a plain field written racily by readers: a stale or lost stamp
+     * only makes the entry look a bit older to the next sample, which may then evict it a bit early. That costs one
+     * more miss on a cache meant to be approximate, whereas ordering the write would make every hit pay for it.
+     * The write is skipped when the entry has the current tick already, so hot entries are not written on every read
+     */
+    private void touch(Entry<K, V> entry){
+        int now = clock;
+        if(entry.lastAccess != now){
+            entry.lastAccess = now;
+        }
+    }
+
+    /**
+     * Put entry in a free slot, linear probing from a random one. The table is at most about half full, so a slot
+     * is found in a couple of probes
+     */
+    private void track(Entry<K, V> entry){
+        while(true){
+            AtomicReferenceArray<Entry<K, V>> table = slots;
+            int mask = table.length() - 1;
+            int start = ThreadLocalRandom.current().nextInt();
+            int slot = -1;
+            for(int i=0; i<= mask && slot < 0; ++i){
+                int idx = (start + i) & mask;
+                if(table.get(idx) == null && table.compareAndSet(idx, null, entry)){
+                    slot = idx;
+                }
+            }
+            if(slot < 0){
+                //Only when many writers are over capacity at once, it won't be sampled so make room right away
+                evict(entry);
+                return;
+            }
+            entry.slot = slot;
+            if(table == slots){
+                return;
+            }
+            //Resized meanwhile
+            table.compareAndSet(slot, entry, null);
+        }
+    }
+
+    private void release(Entry<K, V> entry){
+        AtomicReferenceArray<Entry<K, V>> table = slots;
+        int slot = entry.slot;
+        if(slot >= 0 && slot < table.length()){
+            table.compareAndSet(slot, entry, null);
+        }
+    }
+
+    private void evictIfNeeded(){
+        while( entries.size() > cacheSize ){
+            Entry<K, V> eldest = sample();
+            if(eldest == null){
+                //Entries tracked in a table replaced meanwhile aren't sampled, any of them will do
+                Iterator<Entry<K, V>> any = entries.values().iterator();
+                if( !any.hasNext() ){
+                    return;
+                }
+                eldest = any.next();
+            }
+            evict(eldest);
+        }
+    }
+
+    /**
+     * @return the entry with the eldest stamp among a few slots read from a random position, null if none
+     */
+    private Entry<K, V> sample(){
+        AtomicReferenceArray<Entry<K, V>> table = slots;
+        int mask = table.length() - 1;
+        int start = ThreadLocalRandom.current().nextInt();
+        Entry<K, V> eldest = null;
+        int sampled = 0;
+        for(int i=0; i<= mask && sampled < EVICTION_SAMPLES; ++i){
+            Entry<K, V> curr = table.get( (start + i) & mask );
+            if(curr == null){
+                continue;
+            }
+            ++sampled;
+            if(eldest == null || curr.lastAccess - eldest.lastAccess < 0){
+                eldest = curr;
+            }
+        }
+        return eldest;
+    }
+
+    private void evict(Entry<K, V> entry){
+        release(entry);
+        //Losing the race means another writer evicted it, or it was replaced or removed
+        if( !entries.remove(entry.key, entry) ){
+            return;
+        }
+        evictions.increment();
+        EvictionListener<? super K, ? super V> listener = evictionListener;
+        if(listener != null){
+            listener.evicted(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Told about every entry evicted to keep the cache within its capacity, by the writer that went over capacity
+     * so it must be quick. Entries removed or cleared by callers are not reported
+     */
+    public interface EvictionListener<K, V> {
+
+        void evicted(K key, V value);
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K key;
+        private final V value;
+        //tick of the last access, compared with wrap around in mind
+        private int lastAccess;
+        //slot in the sampling table, -1 until tracked
+        private volatile int slot = -1;
+
+        Entry(K key, V value, int lastAccess) {
+            this.key        = key;
+            this.value      = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
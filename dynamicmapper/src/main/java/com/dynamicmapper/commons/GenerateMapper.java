@@ -0,0 +1,21 @@
+package com.dynamicmapper.commons;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/***
+ * Annotation to be used on destination classes whose mapper should be generated at compile time
+ * by the dynamicmapper-processor, one mapper per source class given
+ *
+ * Destination fields are resolved the same way ModelMapper does: {@link Mappable} first, getter naming
+ * convention otherwise
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+
+    Class<?>[] from();
+}
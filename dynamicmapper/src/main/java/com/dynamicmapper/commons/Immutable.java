@@ -0,0 +1,22 @@
+package com.dynamicmapper.commons;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/***
+ * Annotation to be used on value classes whose instances never change once built, so the mapper and deep copies
+ * share them as is instead of copying them along with everything they reference
+ *
+ * It is not inherited: every immutable class must be annotated on its own
+ *
+ * @see ImmutableTypes
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Immutable {
+}
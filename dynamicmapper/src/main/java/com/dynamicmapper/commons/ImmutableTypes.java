@@ -0,0 +1,127 @@
+package com.dynamicmapper.commons;
+
+import com.dynamicmapper.mapper.copy.IterativeDeepCopier;
+import com.dynamicmapper.mapper.plan.MappingPlanCache;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the classes whose instances are never copied: mapping and deep copying share them as is, so the whole
+ * subgraph they hold is skipped.
+ *
+ * A class is immutable when it is:
+ * <ul>
+ *     <li>a primitive, a wrapper, String or one of the JDK value classes (java.time, BigDecimal, UUID, URI...)</li>
+ *     <li>an enum, constants with a body included</li>
+ *     <li>annotated with {@link Immutable}</li>
+ *     <li>registered with {@link #register(Class[])}, or listed, comma separated, in the
+ *     <tt>dynamicmapper.immutable.types</tt> system property (names of classes not found are ignored)</li>
+ * </ul>
+ *
+ * The answer is worked out once per class and cached alongside it
+ */
+public final class ImmutableTypes {
+
+
+    public static final String IMMUTABLE_TYPES_PROPERTY = "dynamicmapper.immutable.types";
+
+    private static final Set<Class<?>> registeredTypes = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+    //Instances of subclasses of these are immutable too, e.g: the ZoneId implementations
+    private static final Class<?>[] IMMUTABLE_HIERARCHIES = { BigDecimal.class, BigInteger.class, ZoneId.class,
+                                                              Path.class, Charset.class };
+
+    private static final ClassValue<Boolean> cachedAnswers = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return computeIsImmutable( type );
+        }
+    };
+
+    static {
+        registeredTypes.addAll(Arrays.<Class<?>>asList(
+                String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+                Float.class, Double.class, Void.class,
+                BigDecimal.class, BigInteger.class, UUID.class, Locale.class, Currency.class, Class.class,
+                URI.class, URL.class, File.class, Pattern.class,
+                LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetTime.class, OffsetDateTime.class,
+                ZonedDateTime.class, Instant.class, Duration.class, Period.class, Year.class, YearMonth.class,
+                MonthDay.class, ZoneOffset.class,
+                Collections.emptyList().getClass(), Collections.emptySet().getClass(),
+                Collections.emptyMap().getClass()
+        ));
+        String configured = System.getProperty( IMMUTABLE_TYPES_PROPERTY );
+        if(configured != null){
+            for(String curr: configured.split(",")){
+                try {
+                    registeredTypes.add( Class.forName( curr.trim() ) );
+                } catch (ClassNotFoundException e) {
+                    //Ignored, the configuration might list classes of modules not deployed
+                }
+            }
+        }
+    }
+
+
+    private ImmutableTypes(){
+    }
+
+    /**
+     * Check if instances of type are shared as is instead of being copied
+     *
+     * @param type
+     * @return
+     */
+    public static boolean isImmutable(Class<?> type){
+        return type != null && cachedAnswers.get( type );
+    }
+
+    /**
+     * Register our own value classes as immutable, mapping and copy plans already built are dropped since they
+     * might copy them
+     *
+     * @param types
+     */
+    public static void register(Class<?>... types){
+        for(Class<?> curr: types){
+            registeredTypes.add( curr );
+            //Might have been answered already
+            cachedAnswers.remove( curr );
+        }
+        MappingPlanCache.clear();
+        IterativeDeepCopier.clearCopyPlans();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static boolean computeIsImmutable(Class<?> type){
+
+        if( type.isPrimitive() || type.isEnum() || Enum.class.isAssignableFrom(type) ){
+            return true;
+        }
+        if( type.isArray() ){
+            return false;
+        }
+        if( registeredTypes.contains(type) || type.isAnnotationPresent(Immutable.class) ){
+            return true;
+        }
+        for(Class<?> curr: IMMUTABLE_HIERARCHIES){
+            if( curr.isAssignableFrom(type) ){
+                return true;
+            }
+        }
+        //Direct Number subclasses as it has always been, but the atomic ones and the adders
+        return Number.class.equals( type.getSuperclass() )
+                && !type.getName().startsWith("java.util.concurrent.atomic.");
+    }
+}
@@ -0,0 +1,140 @@
+package com.dynamicmapper.commons;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index of a class properties and accessors, built once with its {@link ClassDescriptor} so resolving the
+ * method that feeds a field is a plain map lookup: no pattern compiled, no list filtered or searched.
+ *
+ * When the same name is declared along the hierarchy the most specific one wins, e.g: an overridden getter
+ * resolves to the subclass method
+ */
+public final class PropertyIndex {
+
+
+    private final Map<String, Method>   accessorsByName;
+    private final Map<String, Method>   gettersByName;
+    private final Map<String, Property> propertiesByName;
+
+
+    PropertyIndex(List<Field> fields, List<Method> methods, List<Method> getters, List<Method> setters) {
+
+        Map<String, Method>   accessors  = new HashMap<>();
+        Map<String, Method>   getterMap  = new HashMap<>();
+        Map<String, Property> properties = new HashMap<>();
+
+        //Methods are sorted by name, a subclass method comes before the one it overrides
+        for(Method curr: methods){
+            if( curr.getParameterTypes().length == 0 && !Modifier.isStatic(curr.getModifiers())
+                    && !curr.isSynthetic() && !accessors.containsKey(curr.getName()) ){
+                accessors.put( curr.getName(), curr );
+            }
+        }
+        for(Method curr: getters){
+            if( !getterMap.containsKey(curr.getName()) ){
+                getterMap.put( curr.getName(), curr );
+            }
+            Property property = propertyOf(properties, propertyNameOf(curr.getName()));
+            if(property.getter == null){
+                property.getter = curr;
+            }
+        }
+        for(Method curr: setters){
+            Property property = propertyOf(properties, propertyNameOf(curr.getName()));
+            if(property.setter == null){
+                property.setter = curr;
+            }
+        }
+        //Fields come subclass first, a shadowed field is not indexed
+        for(Field curr: fields){
+            Property property = propertyOf(properties, curr.getName());
+            if(property.field == null){
+                property.field = curr;
+            }
+        }
+        this.accessorsByName  = Collections.unmodifiableMap( accessors );
+        this.gettersByName    = Collections.unmodifiableMap( getterMap );
+        this.propertiesByName = Collections.unmodifiableMap( properties );
+    }
+
+    /**
+     * @param methodName
+     * @return the no args instance method with the given name, whatever its visibility, or <tt>null</tt>
+     */
+    public Method accessor(String methodName){
+        return accessorsByName.get( methodName );
+    }
+
+    /**
+     * @param methodName e.g: <tt>getName</tt>
+     * @return the public no args getter with the given name or <tt>null</tt>
+     */
+    public Method getter(String methodName){
+        return gettersByName.get( methodName );
+    }
+
+    /**
+     * @param propertyName e.g: <tt>name</tt> for <tt>getName()</tt>, <tt>setName(..)</tt> and field <tt>name</tt>
+     * @return the property or <tt>null</tt> if the class has neither a field nor an accessor with that name
+     */
+    public Property property(String propertyName){
+        return propertiesByName.get( propertyName );
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static Property propertyOf(Map<String, Property> properties, String name){
+        Property property = properties.get( name );
+        if(property == null){
+            property = new Property( name );
+            properties.put( name, property );
+        }
+        return property;
+    }
+
+    /**
+     * getName -> name, isActive -> active, setURL -> uRL
+     */
+    private static String propertyNameOf(String methodName){
+        int prefix = methodName.startsWith("is")? 2: 3;
+        return Character.toLowerCase( methodName.charAt(prefix) ) + methodName.substring(prefix + 1);
+    }
+
+
+    /**
+     * A named property: its field, getter and setter, any of them might be missing
+     */
+    public static final class Property {
+
+        private final String name;
+        private Field  field;
+        private Method getter;
+        private Method setter;
+
+        private Property(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Method getGetter() {
+            return getter;
+        }
+
+        public Method getSetter() {
+            return setter;
+        }
+    }
+}
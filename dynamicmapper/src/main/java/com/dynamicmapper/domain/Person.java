@@ -1,79 +1,79 @@
-package com.dynamicmapper.domain;
-
-import java.util.List;
-
-public class Person {
-
-    private String name;
-    private int age;
-
-    private Person parent;
-
-    private Gender gender;
-    private Address address;
-
-    private List<CarVO> carVOList;
-
-    public Person() {
-    }
-
-    public Person(String name, int age) {
-        this.name = name;
-        this.age = age;
-    }
-
-    public Person(String name, int age, Person parent) {
-        this.name = name;
-        this.age = age;
-        this.parent = parent;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public int getAge() {
-        return age;
-    }
-
-    public void setAge(int age) {
-        this.age = age;
-    }
-
-
-    public Person getParent() {
-        return parent;
-    }
-
-    public void setParent(Person parent) {
-        this.parent = parent;
-    }
-
-    public Gender getGender() {
-        return gender;
-    }
-
-    public void setGender(Gender gender) {
-        this.gender = gender;
-    }
-
-    public Address getAddress() {
-        return address;
-    }
-
-    public void setAddress(Address address) {
-        this.address = address;
-    }
-
-    public List<CarVO> getCarVOList() {
-        return carVOList;
-    }
-
-    public void setCarVOList(List<CarVO> carVOList) {
-        this.carVOList = carVOList;
-    }
-}
+package com.dynamicmapper.domain;
+
+import java.util.List;
+
+public class Person {
+
+    private String name;
+    private int age;
+
+    private Person parent;
+
+    private Gender gender;
+    private Address address;
+
+    private List<CarVO> carVOList;
+
+    public Person() {
+    }
+
+    public Person(String name, int age) {
+        this.name = name;
+        this.age = age;
+    }
+
+    public Person(String name, int age, Person parent) {
+        this.name = name;
+        this.age = age;
+        this.parent = parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+
+    public Person getParent() {
+        return parent;
+    }
+
+    public void setParent(Person parent) {
+        this.parent = parent;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public void setAddress(Address address) {
+        this.address = address;
+    }
+
+    public List<CarVO> getCarVOList() {
+        return carVOList;
+    }
+
+    public void setCarVOList(List<CarVO> carVOList) {
+        this.carVOList = carVOList;
+    }
+}
@@ -1,72 +1,74 @@
-package com.dynamicmapper.domain;
-
-import com.dynamicmapper.commons.Mappable;
-
-import java.util.List;
-
-public class PersonVO{
-
-
-    @Mappable(methodName = "getName")
-    private String firstName;
-    @Mappable(methodName = "getAge")
-    private int age;
-
-    @Mappable(methodName = "getParent")
-    private PersonVO parent;
-
-    private Gender gender;
-    private Address address;
-    private List<BMW> carList;
-
-    private CarVO[] favorites;
-
-
-    public String getFirstName() {
-        return firstName;
-    }
-
-    public void setFirstName(String firstName) {
-        this.firstName = firstName;
-    }
-
-    public int getAge() {
-        return age;
-    }
-
-    public void setAge(int age) {
-        this.age = age;
-    }
-
-    public PersonVO getParent() {
-        return parent;
-    }
-
-    public void setParent(PersonVO parent) {
-        this.parent = parent;
-    }
-
-    public Gender getGender() {
-        return gender;
-    }
-
-    public void setGender(Gender gender) {
-        this.gender = gender;
-    }
-
-    public Address getAddress() {
-        return address;
-    }
-
-    public void setAddress(Address address) {
-        this.address = address;
-    }
-
-    public List<BMW> getCarList() {
-        return carList;
-    }
-
-    public void setCarList(List<BMW> carList) {
-        this.carList = carList;
-    }
-}
+package com.dynamicmapper.domain;
+
+import com.dynamicmapper.commons.GenerateMapper;
+import com.dynamicmapper.commons.Mappable;
+
+import java.util.List;
+
+@GenerateMapper(from = Person.class)
+public class PersonVO{
+
+
+    @Mappable(methodName = "getName")
+    private String firstName;
+    @Mappable(methodName = "getAge")
+    private int age;
+
+    @Mappable(methodName = "getParent")
+    private PersonVO parent;
+
+    private Gender gender;
+    private Address address;
+    private List<BMW> carList;
+
+    private CarVO[] favorites;
+
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public PersonVO getParent() {
+        return parent;
+    }
+
+    public void setParent(PersonVO parent) {
+        this.parent = parent;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public void setAddress(Address address) {
+        this.address = address;
+    }
+
+    public List<BMW> getCarList() {
+        return carList;
+    }
+
+    public void setCarList(List<BMW> carList) {
+        this.carList = carList;
+    }
+}
@@ -1,31 +1,33 @@
-package com.dynamicmapper.domain;
-
-import com.dynamicmapper.commons.Mappable;
-
-public class StudentVO extends PersonVO{
-
-
-
-
-    @Mappable(methodName = "getSubjects")
-    private Subject [] subjects;
-    @Mappable(methodName = "getEducationLevel")
-    private String scolarship;
-
-
-    public Subject[] getSubjects() {
-        return subjects;
-    }
-
-    public void setSubjects(Subject[] subjects) {
-        this.subjects = subjects;
-    }
-
-    public String getScolarship() {
-        return scolarship;
-    }
-
-    public void setScolarship(String scolarship) {
-        this.scolarship = scolarship;
-    }
-}
+package com.dynamicmapper.domain;
+
+import com.dynamicmapper.commons.GenerateMapper;
+import com.dynamicmapper.commons.Mappable;
+
+@GenerateMapper(from = Student.class)
+public class StudentVO extends PersonVO{
+
+
+
+
+    @Mappable(methodName = "getSubjects")
+    private Subject [] subjects;
+    @Mappable(methodName = "getEducationLevel")
+    private String scolarship;
+
+
+    public Subject[] getSubjects() {
+        return subjects;
+    }
+
+    public void setSubjects(Subject[] subjects) {
+        this.subjects = subjects;
+    }
+
+    public String getScolarship() {
+        return scolarship;
+    }
+
+    public void setScolarship(String scolarship) {
+        this.scolarship = scolarship;
+    }
+}
@@ -1,5 +1,8 @@
 package com.dynamicmapper.domain;
 
+import com.dynamicmapper.commons.GenerateMapper;
+
+@GenerateMapper(from = Teacher.class)
 public class TeacherVO {
 
     private String name;
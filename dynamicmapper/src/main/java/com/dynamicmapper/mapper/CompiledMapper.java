@@ -0,0 +1,22 @@
+package com.dynamicmapper.mapper;
+
+/**
+ * A {@link Mapper} generated at compile time by the dynamicmapper-processor.
+ *
+ * Implementations are registered in <tt>META-INF/services/com.dynamicmapper.mapper.CompiledMapper</tt> and
+ * preferred by ModelMapper over any other engine for the properties they cover
+ *
+ * @param <S> source type
+ * @param <D> destination type
+ */
+public interface CompiledMapper<S, D> extends Mapper<S, D> {
+
+    Class<S> sourceType();
+
+    Class<D> destinationType();
+
+    /**
+     * @return names of destination fields copied by {@link #map(Object, Object)}, the others are left to ModelMapper
+     */
+    String[] mappedFields();
+}
@@ -0,0 +1,45 @@
+package com.dynamicmapper.mapper;
+
+import com.dynamicmapper.mapper.plan.CopyMode;
+import com.dynamicmapper.mapper.plan.PropertyMapping;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The objects of one lazy mapping: every source object mapped so far, eagerly or on first read, and what it was
+ * mapped into. Properties loaded later resolve against it, so cycles and shared objects are kept across loads.
+ *
+ * It lives as long as one of its objects still has a property to load, holding the source objects mapped
+ */
+final class LazyGraph {
+
+
+    private final Map<Object, Object> mapped = new IdentityHashMap<>();
+
+
+    synchronized void register(Object source, Object destination){
+        mapped.put( source, destination );
+    }
+
+    synchronized <D> D lookup(Object source, Class<D> dstClazz){
+        Object destination = mapped.get( source );
+        return dstClazz.isInstance( destination )? (D) destination: null;
+    }
+
+    /**
+     * Convert a property value the same way an eager mapping does, nested objects being lazy in turn
+     *
+     * @param property
+     * @param value    not null
+     * @return
+     */
+    synchronized Object resolve(PropertyMapping property, Object value){
+        if(property.getCopyMode() == CopyMode.DEEP_COPY || value.getClass() == property.getTargetType()){
+            //Not through deepCopyOf, loading a property is no call of its own to meter or report as slow
+            return ModelMapper.copyProperty( value );
+        }
+        Object known = lookup( value, property.getTargetType() );
+        return known != null? known: ModelMapper.mapLazily( value, property.getTargetType(), this );
+    }
+}
@@ -0,0 +1,14 @@
+package com.dynamicmapper.mapper;
+
+/**
+ * Implemented by the destination subclasses generated for lazy mappings, see {@link MappingOptions#lazy(boolean)}
+ */
+public interface LazyLoaded {
+
+    /**
+     * Hand the generated object the properties it loads on first read
+     *
+     * @param state
+     */
+    void initLazyState(LazyState state);
+}
@@ -0,0 +1,69 @@
+package com.dynamicmapper.mapper;
+
+import com.dynamicmapper.mapper.plan.PropertyMapping;
+
+/**
+ * The properties of one lazily mapped object not read yet: the property and the source value it is mapped from,
+ * by slot.
+ *
+ * Loading is done holding the lock of the {@link LazyGraph} the object belongs to, once every property is loaded
+ * getters do not lock anymore
+ */
+public final class LazyState {
+
+
+    private final Object            owner;
+    private final LazyGraph         graph;
+    private final PropertyMapping[] properties;
+    private final Object[]          values;
+
+    private volatile int pending;
+
+
+    LazyState(Object owner, LazyGraph graph, int slots) {
+        this.owner      = owner;
+        this.graph      = graph;
+        this.properties = new PropertyMapping[slots];
+        this.values     = new Object[slots];
+    }
+
+    /**
+     * Map property from value the first time the slot is read
+     */
+    void defer(int slot, PropertyMapping property, Object value){
+        properties[slot] = property;
+        values[slot]     = value;
+        pending++;
+    }
+
+    void load(int slot){
+        if(pending == 0){
+            return;
+        }
+        synchronized (graph){
+            PropertyMapping property = properties[slot];
+            if(property == null){
+                return;
+            }
+            Object value = values[slot];
+            properties[slot] = null;
+            values[slot]     = null;
+            property.write( owner, graph.resolve(property, value) );
+            //Written last, readers seeing no pending property see every value written
+            pending--;
+        }
+    }
+
+    void discard(int slot){
+        if(pending == 0){
+            return;
+        }
+        synchronized (graph){
+            if(properties[slot] != null){
+                properties[slot] = null;
+                values[slot]     = null;
+                pending--;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.dynamicmapper.mapper;
+
+/**
+ * Entry points of the generated lazy destination classes, not meant to be called by anything else
+ *
+ * @see com.dynamicmapper.mapper.generator.LazyClassGenerator
+ */
+public final class LazySupport {
+
+
+    private LazySupport(){
+    }
+
+    /**
+     * Called by a lazy property getter before reading the property
+     *
+     * @param state state of the object, <tt>null</tt> when it has nothing left to load
+     * @param slot  the property slot
+     */
+    public static void load(LazyState state, int slot){
+        if(state != null){
+            state.load( slot );
+        }
+    }
+
+    /**
+     * Called by a lazy property setter before writing the property, the value still pending is dropped
+     *
+     * @param state state of the object, <tt>null</tt> when it has nothing left to load
+     * @param slot  the property slot
+     */
+    public static void discard(LazyState state, int slot){
+        if(state != null){
+            state.discard( slot );
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.dynamicmapper.mapper;
+
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.mapper.generator.LazyClassGenerator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The generated lazy subclass of a destination class and the slot of each of its lazy properties.
+ *
+ * A property is lazy when it is not a primitive nor an immutable value, has a getter that can be overridden and
+ * no setter, or one that can be overridden. Worked out once per destination class
+ */
+final class LazyType<D> {
+
+
+    private static final ClassValue<LazyType<?>> cachedTypes = new ClassValue<LazyType<?>>() {
+        @Override
+        protected LazyType<?> computeValue(Class<?> type) {
+            return compile( type );
+        }
+    };
+
+    //Destination classes no lazy subclass is generated for
+    private static final LazyType<?> UNSUPPORTED = new LazyType<>(null, new HashMap<Field, Integer>());
+
+    private final Constructor<? extends D> constructor;
+    private final Map<Field, Integer>      slots;
+
+
+    private LazyType(Constructor<? extends D> constructor, Map<Field, Integer> slots) {
+        this.constructor = constructor;
+        this.slots       = slots;
+    }
+
+    /**
+     * @param dstClazz
+     * @return the lazy type of dstClazz, or <tt>null</tt> when it is mapped eagerly
+     */
+    static <D> LazyType<D> of(Class<D> dstClazz){
+        LazyType<?> type = cachedTypes.get( dstClazz );
+        return type == UNSUPPORTED? null: (LazyType<D>) type;
+    }
+
+    D newInstance(){
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(String
+                    .format("Cannot instantiate lazy object from class %s", constructor.getDeclaringClass()), e);
+        }
+    }
+
+    LazyState newState(Object owner, LazyGraph graph){
+        return new LazyState(owner, graph, slots.size());
+    }
+
+    /**
+     * @param field
+     * @return the slot of field, <tt>-1</tt> when it is always mapped eagerly
+     */
+    int slotOf(Field field){
+        Integer slot = slots.get( field );
+        return slot != null? slot: -1;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static LazyType<?> compile(Class<?> dstClazz){
+
+        if( !LazyClassGenerator.supports(dstClazz) ){
+            return UNSUPPORTED;
+        }
+        List<Method> getters = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        Map<Field, Integer> slots = new HashMap<>();
+        for(Field field: ReflectionUtils.getClazzFieldsAlongTheHierarchy( dstClazz )){
+            if( Modifier.isStatic(field.getModifiers()) || ReflectionUtils.fieldTypeIsAwellKnownImmutableClazzFromJDK(field) ){
+                continue;
+            }
+            Method getter = LazyClassGenerator.getterOf( dstClazz, field );
+            Method setter = LazyClassGenerator.setterOf( dstClazz, field );
+            //A shadowed field shares its getter with the one shadowing it
+            if(getter == null || getters.contains(getter) || (setter != null && Modifier.isFinal(setter.getModifiers()))){
+                continue;
+            }
+            slots.put( field, getters.size() );
+            getters.add( getter );
+            setters.add( setter );
+        }
+        if( slots.isEmpty() ){
+            return UNSUPPORTED;
+        }
+        Class<?> lazyClazz = LazyClassGenerator.generate( dstClazz, getters, setters );
+        if(lazyClazz == null){
+            return UNSUPPORTED;
+        }
+        try {
+            return new LazyType<>(lazyClazz.getConstructor(), slots);
+        } catch (NoSuchMethodException e) {
+            return UNSUPPORTED;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.dynamicmapper.mapper;
+
+/**
+ * A dedicated mapper for a single (source class, destination class) pair, e.g. generated at runtime
+ * for hot pairs
+ *
+ * @param <S> source type
+ * @param <D> destination type
+ */
+public interface Mapper<S, D> {
+
+    /**
+     * Copy the properties this mapper knows about from source onto destination
+     *
+     * @param source
+     * @param destination
+     */
+    void map(S source, D destination);
+}
@@ -0,0 +1,195 @@
+package com.dynamicmapper.mapper;
+
+/**
+ * Tracks, by identity, the destination object each source object of the graph being mapped was mapped into.
+ *
+ * A destination is registered before its properties are filled, so a cycle (e.g: a person being its own parent)
+ * resolves to the destination under construction and a sub-object shared by several owners is mapped only once.
+ * Equal but distinct source objects are never mixed up
+ *
+ * Contexts are pooled, one per thread: the identity table is open addressed on
+ * {@link System#identityHashCode(Object)} so registering boxes nothing, and the slots used are remembered so
+ * clearing it between two objects costs as much as the entries it holds, not its capacity
+ *
+ * @see #acquire()
+ */
+final class MappingContext {
+
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    //A context which grew over this many slots is not kept around once released
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<MappingContext> pool = new ThreadLocal<MappingContext>(){
+        @Override
+        protected MappingContext initialValue() {
+            return new MappingContext(DEFAULT_CAPACITY);
+        }
+    };
+
+    private Object[] keys;
+    private Object[] values;
+    private int[]    touchedSlots;
+    private int      size;
+    private boolean  inUse;
+    //lazy mappings only, the graph deferred properties resolve against
+    private LazyGraph lazyGraph;
+    //objects and fields mapped since acquired, kept across clear() so a whole list adds up
+    private int       mappedObjects;
+    private long      mappedFields;
+
+
+    private MappingContext(int capacity){
+        allocate( capacity );
+    }
+
+    /**
+     * Get the calling thread context, or a fresh one if it is already in use further up the stack
+     *
+     * @return a context that must be given back with {@link #release()}
+     */
+    static MappingContext acquire(){
+        MappingContext context = pool.get();
+        if(context.inUse){
+            context = new MappingContext(DEFAULT_CAPACITY);
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Clear the context and give it back to its thread
+     */
+    void release(){
+        if(keys.length > MAX_RETAINED_CAPACITY){
+            allocate( DEFAULT_CAPACITY );
+        }else{
+            clear();
+        }
+        lazyGraph = null;
+        mappedObjects = 0;
+        mappedFields  = 0;
+        inUse = false;
+    }
+
+    LazyGraph getLazyGraph() {
+        return lazyGraph;
+    }
+
+    void setLazyGraph(LazyGraph lazyGraph) {
+        this.lazyGraph = lazyGraph;
+    }
+
+    /**
+     * Count an object mapped with the given number of properties, read by {@link com.dynamicmapper.mapper.metrics.MapperMetrics}
+     */
+    void countMapped(int fields){
+        ++mappedObjects;
+        mappedFields += fields;
+    }
+
+    int getMappedObjects() {
+        return mappedObjects;
+    }
+
+    long getMappedFields() {
+        return mappedFields;
+    }
+
+    /**
+     * Forget every registered object, only the slots used are visited
+     */
+    void clear(){
+        for(int i=0; i< size; ++i){
+            int slot = touchedSlots[i];
+            keys[slot]   = null;
+            values[slot] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Record that source was mapped into destination
+     *
+     * @param source
+     * @param destination
+     */
+    void register(Object source, Object destination){
+        int slot = slotOf( source );
+        if(keys[slot] == source){
+            values[slot] = destination;
+            return;
+        }
+        keys[slot]           = source;
+        values[slot]         = destination;
+        touchedSlots[size++] = slot;
+        //Half full at most, so probe sequences stay short
+        if(size << 1 > keys.length){
+            grow();
+        }
+    }
+
+    /**
+     * @param source
+     * @param dstClazz
+     * @return the object source was already mapped into, provided it is a dstClazz, or <tt>null</tt>
+     */
+    <D> D lookup(Object source, Class<D> dstClazz){
+        if(source == null || size == 0){
+            return null;
+        }
+        int slot = slotOf( source );
+        Object destination = keys[slot] == source? values[slot]: null;
+        return dstClazz.isInstance( destination )? (D) destination: null;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    /**
+     * Linear probing
+     *
+     * @return the slot holding key, or the empty slot where it belongs
+     */
+    private int slotOf(Object key){
+        int mask = keys.length - 1;
+        int slot = mix( System.identityHashCode(key) ) & mask;
+        Object curr;
+        while( (curr = keys[slot]) != null && curr != key ){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow(){
+        Object[] oldKeys    = keys;
+        Object[] oldValues  = values;
+        int[]    oldTouched = touchedSlots;
+        int      oldSize    = size;
+
+        allocate( oldKeys.length << 1 );
+        for(int i=0; i< oldSize; ++i){
+            int oldSlot = oldTouched[i];
+            int slot    = slotOf( oldKeys[oldSlot] );
+            keys[slot]           = oldKeys[oldSlot];
+            values[slot]         = oldValues[oldSlot];
+            touchedSlots[size++] = slot;
+        }
+    }
+
+    private void allocate(int capacity){
+        this.keys         = new Object[capacity];
+        this.values       = new Object[capacity];
+        //Never more than half of the slots are used
+        this.touchedSlots = new int[(capacity >> 1) + 1];
+        this.size         = 0;
+    }
+
+    /**
+     * Spread identity hash codes bits, low bits are the ones picking the slot
+     */
+    private static int mix(int hash){
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dynamicmapper.mapper;
+
+/**
+ * Options of a single {@link ModelMapper#map(Object, Class, MappingOptions)} or
+ * {@link ModelMapper#mapInto(Object, Object, MappingOptions)} call, immutable: every option setter returns a new
+ * instance
+ */
+public final class MappingOptions {
+
+
+    private static final MappingOptions DEFAULTS = new MappingOptions(false, false, false);
+
+    private final boolean lazy;
+    private final boolean skipNulls;
+    private final boolean onlyChanged;
+
+
+    private MappingOptions(boolean lazy, boolean skipNulls, boolean onlyChanged) {
+        this.lazy        = lazy;
+        this.skipNulls   = skipNulls;
+        this.onlyChanged = onlyChanged;
+    }
+
+    /**
+     * @return the options {@link ModelMapper#map(Object, Class)} uses
+     */
+    public static MappingOptions defaults(){
+        return DEFAULTS;
+    }
+
+    /**
+     * Map nested objects, arrays and collections the first time their getter is called rather than up front.
+     *
+     * The destination object is then an instance of a subclass generated at runtime, overriding the getters and
+     * setters of those properties, so they must be public and non final, and the destination class public, non
+     * final and with a no-arg constructor; classes that do not qualify are mapped eagerly. Source values are read
+     * when mapping, only their conversion is deferred: they must not change until loaded. Fields read directly,
+     * e.g: by the destination class itself or by reflection, are <tt>null</tt> until their getter is called.
+     *
+     * Ignored when mapping into an existing object
+     *
+     * @param lazy
+     * @return
+     */
+    public MappingOptions lazy(boolean lazy){
+        return new MappingOptions(lazy, skipNulls, onlyChanged);
+    }
+
+    /**
+     * When mapping into an existing object, leave a destination property untouched when its source value is null.
+     * Rejected by {@link ModelMapper#map(Object, Class, MappingOptions)}
+     *
+     * @param skipNulls
+     * @return
+     */
+    public MappingOptions skipNulls(boolean skipNulls){
+        return new MappingOptions(lazy, skipNulls, onlyChanged);
+    }
+
+    /**
+     * When mapping into an existing object, only write a destination property when its new value is not equal to
+     * the one it holds, so equal values are neither copied nor written. Rejected by
+     * {@link ModelMapper#map(Object, Class, MappingOptions)}
+     *
+     * @param onlyChanged
+     * @return
+     */
+    public MappingOptions onlyChanged(boolean onlyChanged){
+        return new MappingOptions(lazy, skipNulls, onlyChanged);
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public boolean isSkipNulls() {
+        return skipNulls;
+    }
+
+    public boolean isOnlyChanged() {
+        return onlyChanged;
+    }
+}
@@ -1,260 +1,739 @@
-package com.dynamicmapper.mapper;
-
-import com.dynamicmapper.commons.CollectionFactory;
-import com.dynamicmapper.commons.ReflectionUtils;
-import com.dynamicmapper.exceptions.DeepCopyTypesMissMatchException;
-import com.dynamicmapper.mapper.policy.MappingManager;
-import com.dynamicmapper.mapper.policy.SystemLegacyMappingStrategy;
-
-import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.*;
-
-import static com.dynamicmapper.commons.ReflectionUtils.*;
-
-
-/**
- *
- * A little API for mapping domain objects that's will save us a lot work as well as avoid verbosity
- *
- * and such boiler plate code we used to come across
- *
- * @authored by : walter.dumba
- *
- */
-public final class ModelMapper{
-
-
-
-
-
-
-    /**
-     * Map an object to another object from different class
-     *
-     * @see #map(Object, Class, Map)
-     *
-     */
-    public static <S, D> D map(S sourceObj, Class<D> dstClazz) {
-
-        D dstObject = map( sourceObj, dstClazz, new HashMap<Integer, Object>() );
-        return dstObject;
-    }
-
-
-    /**
-     * Map tje srcList to a List of a given Class Type
-     *
-     *
-     * @param srcList
-     * @param dstListType
-     * @param <S>
-     * @param <D>
-     * @return
-     */
-    public static <S, D> List<D> mapList(List<S> srcList, Class<D>dstListType){
-
-        if(srcList == null|| dstListType == null){
-            return null;
-        }
-        List<D> mappedList = new ArrayList<>(srcList.size());
-        for(S elem: srcList){
-            D currMappedObj = map(elem, dstListType);
-            mappedList.add( currMappedObj );
-        }
-        return mappedList;
-    }
-
-
-
-    /**
-     * Deep copy the following object
-     * @param obj
-     * @param <R>
-     * @return
-     */
-    public static <R> R deepCopyOf(Object obj){
-        return (R) recursiveReflectiveDeepCopy(obj, obj.getClass());
-    }
-
-
-    /**############################################## PRIVATE PART  ################################################**/
-
-
-
-    /**
-     * Map an object to another object from different class
-     *
-     * @param sourceObj source object which we want to map to
-     * @param dstClazz  class of destiny object
-     * @param alreadyMappedObjects a variable that holds the tracking during the mapping to prevent infinite loop in mappings
-     * @param <S>
-     * @param <D>
-     * @return a mapped object from Class<D>
-     */
-    private static <S, D> D map(S sourceObj, Class<D> dstClazz, Map<Integer, Object> alreadyMappedObjects){
-
-        if(sourceObj == null || dstClazz == null){
-            return null;
-        }
-        //INTROSPECT DESTINY CLASS FIELDS TO FIGURE OUT WHICH MAPPING STRATEGY WILL BE USED
-        Collection<Field> dstAnnotatedFields = ReflectionUtils.getClazzFieldsAlongTheHierarchy( dstClazz );
-        D dstObject = newInstanceOf( dstClazz );
-        for(Field dstField: dstAnnotatedFields){
-
-            SystemLegacyMappingStrategy mapping = MappingManager.discovery( dstField );
-            mapping.setProvider( sourceObj );
-            Object value = mapping.resolve();
-            Object clone;
-            if( alreadyMappedObjects.get( Objects.hashCode(value) )!= null ){
-                continue;
-            }
-            if( objectIsEligibleToBeClonedAndAssignedToField(dstField, value) ){
-                clone = recursiveReflectiveDeepCopy( value, dstField.getType());
-            }
-            else{
-                alreadyMappedObjects.put(Objects.hashCode(value), value);
-                clone = map(value, dstField.getType(), alreadyMappedObjects);
-            }
-            setField( dstField, dstObject, clone );
-        }
-        return dstObject;
-    }
-
-
-    /**
-     *  Deep copy the object given in parameters
-     *  if at some point come across with a property of immutable class from JDK the reference only will be copied
-     *  this copy doesn't recompute objects fields during the process, a cache is used to lookup the fields
-     *  so the performance might increase meaningfully
-     *
-     *
-     * @param srcObj
-     * @param dstClazz
-     * @param <S>
-     * @param <D>
-     * @return
-     * @throws DeepCopyTypesMissMatchException
-     */
-    private static <S,D> D recursiveReflectiveDeepCopy(S srcObj, Class<D> dstClazz ) throws DeepCopyTypesMissMatchException {
-
-            if(srcObj == null){
-                return null;
-            }
-            if( objectClassIsAwellKnownImmutableClassFromJDK( srcObj ) ){
-                return (D) srcObj;
-            }
-            Object clone;
-            Class objClazz = dstClazz;
-            //ARRAY TYPES
-            if( srcObj.getClass().isArray() ){
-                clone = Array.newInstance( srcObj.getClass().getComponentType(), Array.getLength(srcObj) );
-                for(int i=0; i< Array.getLength(srcObj); ++i){
-                    Object arrElement = Array.get(srcObj, i);
-                    Object arrElementClone = recursiveReflectiveDeepCopy( arrElement, srcObj.getClass().getComponentType() );
-                    Array.set(clone, i, arrElementClone);
-                }
-            }
-            //COLLECTION TYPES
-            else if( Collection.class.isAssignableFrom( srcObj.getClass() ) ){
-                Collection<?> collection = (Collection<?>) srcObj;
-                Collection temp = (Collection<?>) CollectionFactory.newInstanceOf( srcObj.getClass().getCanonicalName() );
-                for(Object curr: collection){
-                    Object currCloned = recursiveReflectiveDeepCopy( curr, curr.getClass() );
-                    temp.add( currCloned );
-                }
-                clone = temp;
-                objClazz = null;
-            }
-            else if( Map.class.isAssignableFrom( srcObj.getClass() ) ){
-                Map<?,?> srcMap  = (Map<?, ?>) srcObj;
-                Map hashMap = CollectionFactory.newInstanceOf(srcObj.getClass().getName());
-                for(Map.Entry currEntry: srcMap.entrySet()){
-                    Object srcMapKey    = recursiveReflectiveDeepCopy(currEntry.getKey(),
-                            currEntry.getKey().getClass()  );
-                    Object srcMapValue  = recursiveReflectiveDeepCopy(currEntry.getKey(),
-                            currEntry.getValue().getClass());
-                    hashMap.put(srcMapKey, srcMapValue);
-                }
-                clone = hashMap;
-            }
-            else {
-                clone = Enum.class.isAssignableFrom(dstClazz)? srcObj: newInstanceOf( dstClazz );
-            }
-            //Case: We want assure we are copying objects from the same class so...
-            if(srcObj.getClass() == dstClazz){
-                for (Field field : ReflectionUtils.getClazzFieldsAlongTheHierarchy( objClazz )) {
-                    field.setAccessible( true );
-                    if( getFieldValue(field, srcObj) == null || Modifier.isFinal(field.getModifiers()) ){
-                        continue;
-                    }
-                    //WE DON'T WANT DEEP COPYING IMMUTABLE OBJECTS
-                    if( fieldTypeIsAwellKnownImmutableClazzFromJDK( field ) ){
-                        setField(field, clone,  getFieldValue(field, srcObj));
-                    }else{
-                        Object childObj = getFieldValue(field, srcObj);
-                        if(childObj == srcObj){
-                            setField(field, clone, clone);
-                        }else{
-                            setField(field, clone, recursiveReflectiveDeepCopy(childObj, field.getType()));
-                        }
-                    }
-                }
-            }
-            return (D) clone;
-    }
-
-    /**
-     *
-     * Set the field value on underlyingObject
-     *
-     * @param field
-     * @param underlyingObject
-     * @param value
-     * @param <D>
-     * TODO: catch IllegalArgumentException and rethrow IllegalPropertyValueException with a more descriptive message
-     */
-    private static <D> void setField(Field field, D underlyingObject, Object value) {
-        try {
-            field.setAccessible( true );
-            field.set(underlyingObject, value);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(String.format("Error trying set field value reflective on object %s with value %s",
-                    underlyingObject, value));
-        }
-    }
-
-    /**
-     * Get the field value of underlyingObject
-     *
-     * @param field
-     * @param underlyingObject
-     * @return
-     */
-    private static Object getFieldValue(Field field, Object underlyingObject){
-        Object value;
-        try {
-            value = field.get(underlyingObject);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(String.format("Error trying get field value reflective on object %s",
-                    underlyingObject));
-        }
-        return value;
-    }
-
-
-    /**
-     * Test if value is eligible to be assigned to the following field
-     * @param dstField
-     * @param value
-     * @return
-     */
-    private static boolean objectIsEligibleToBeClonedAndAssignedToField(Field dstField, Object value) {
-        return (value!= null && value.getClass()== dstField.getType())
-                || (dstField.getType().isPrimitive())
-                || (Collection.class.isAssignableFrom(dstField.getType()))
-                || (Collection.class.isAssignableFrom(dstField.getType()));
-    }
-
-}
+package com.dynamicmapper.mapper;
+
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.access.EngineMode;
+import com.dynamicmapper.mapper.copy.CopyOnWriteDeepCopier;
+import com.dynamicmapper.mapper.copy.DeepCopier;
+import com.dynamicmapper.mapper.copy.DeepCopyMode;
+import com.dynamicmapper.mapper.copy.IterativeDeepCopier;
+import com.dynamicmapper.mapper.copy.ParallelDeepCopier;
+import com.dynamicmapper.mapper.events.MapperEvents;
+import com.dynamicmapper.mapper.metrics.MapperMetrics;
+import com.dynamicmapper.mapper.plan.CopyMode;
+import com.dynamicmapper.mapper.plan.MappingPlan;
+import com.dynamicmapper.mapper.plan.MappingPlanCache;
+import com.dynamicmapper.mapper.plan.PropertyMapping;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.dynamicmapper.commons.ReflectionUtils.*;
+
+
+/**
+ *
+ * A little API for mapping domain objects that's will save us a lot work as well as avoid verbosity
+ *
+ * and such boiler plate code we used to come across
+ *
+ * @authored by : walter.dumba
+ *
+ */
+public final class ModelMapper{
+
+
+    //Chunk size under which mapListParallel stops splitting
+    public static final int PARALLEL_DEFAULT_THRESHOLD = 4096;
+
+    //Copies graphs of any depth, see IterativeDeepCopier
+    private static final DeepCopier deepCopier = IterativeDeepCopier.getInstance();
+
+
+
+    /**
+     * Map an object to another object from different class
+     *
+     * @see #map(Object, Class, MappingContext)
+     *
+     */
+    public static <S, D> D map(S sourceObj, Class<D> dstClazz) {
+
+        MappingContext context = MappingContext.acquire();
+        boolean metered = MapperMetrics.isEnabled();
+        long start = metered? System.nanoTime(): 0L;
+        Object slowCall = MapperEvents.beginCall();
+        try {
+            return map( sourceObj, dstClazz, context );
+        } finally {
+            if(metered && sourceObj != null){
+                recordMetrics( sourceObj.getClass(), dstClazz, start, context );
+            }
+            MapperEvents.endCall( slowCall, "map", sourceObj != null? sourceObj.getClass(): null, dstClazz,
+                    context.getMappedObjects() );
+            context.release();
+        }
+    }
+
+
+    /**
+     * Map an object to another object from different class with the given options
+     *
+     * Only {@link MappingOptions#lazy(boolean)} applies to a new object, skipNulls and onlyChanged are rejected
+     * since there is nothing held yet to keep, use {@link #mapInto(Object, Object, MappingOptions)} for them
+     *
+     * @see MappingOptions
+     *
+     * @param sourceObj
+     * @param dstClazz
+     * @param options   {@link MappingOptions#defaults()} when null
+     * @param <S>
+     * @param <D>
+     * @return
+     */
+    public static <S, D> D map(S sourceObj, Class<D> dstClazz, MappingOptions options) {
+
+        if(options != null && (options.isSkipNulls() || options.isOnlyChanged())){
+            throw new IllegalArgumentException("skipNulls and onlyChanged only apply when mapping into an existing object");
+        }
+        if(options == null || !options.isLazy()){
+            return map(sourceObj, dstClazz);
+        }
+        if(sourceObj == null){
+            return mapLazily(sourceObj, dstClazz, new LazyGraph());
+        }
+        //Only the objects mapped up front would count, so a lazy mapping counts as a call of one object
+        boolean metered = MapperMetrics.isEnabled();
+        long start = metered? System.nanoTime(): 0L;
+        Object slowCall = MapperEvents.beginCall();
+        try {
+            return mapLazily(sourceObj, dstClazz, new LazyGraph());
+        } finally {
+            if(metered){
+                MapperMetrics.recordCall( sourceObj.getClass(), dstClazz, System.nanoTime() - start );
+            }
+            MapperEvents.endCall( slowCall, "map", sourceObj.getClass(), dstClazz, 1 );
+        }
+    }
+
+
+    /**
+     * Map an object into an existing object, e.g: to update a cached or pooled one in place
+     *
+     * @see #mapInto(Object, Object, MappingOptions)
+     */
+    public static <S, D> D mapInto(S sourceObj, D dstObject) {
+        return mapInto(sourceObj, dstObject, MappingOptions.defaults());
+    }
+
+    /**
+     * Map an object into an existing object, e.g: to update a cached or pooled one in place
+     *
+     * Properties are written as {@link #map(Object, Class)} would, except nested objects already held by dstObject
+     * which are mapped into in turn, so the existing graph is updated rather than replaced. Honours the
+     * {@link MappingOptions#skipNulls(boolean)} and {@link MappingOptions#onlyChanged(boolean)} options
+     *
+     * @param sourceObj
+     * @param dstObject object to update, it must not be the result of a lazy mapping
+     * @param options   {@link MappingOptions#defaults()} when null
+     * @param <S>
+     * @param <D>
+     * @return dstObject
+     */
+    public static <S, D> D mapInto(S sourceObj, D dstObject, MappingOptions options) {
+
+        if(sourceObj == null || dstObject == null){
+            return dstObject;
+        }
+        if(dstObject instanceof LazyLoaded){
+            throw new IllegalArgumentException(String
+                    .format("Cannot map into the lazily mapped object %s", dstObject.getClass().getName()));
+        }
+        MappingContext context = MappingContext.acquire();
+        boolean metered = MapperMetrics.isEnabled();
+        long start = metered? System.nanoTime(): 0L;
+        Object slowCall = MapperEvents.beginCall();
+        try {
+            return mapInto( sourceObj, dstObject, options != null? options: MappingOptions.defaults(), context );
+        } finally {
+            if(metered){
+                recordMetrics( sourceObj.getClass(), dstObject.getClass(), start, context );
+            }
+            MapperEvents.endCall( slowCall, "mapInto", sourceObj.getClass(), dstObject.getClass(),
+                    context.getMappedObjects() );
+            context.release();
+        }
+    }
+
+
+    /**
+     * Map tje srcList to a List of a given Class Type
+     *
+     *
+     * @param srcList
+     * @param dstListType
+     * @param <S>
+     * @param <D>
+     * @return
+     */
+    public static <S, D> List<D> mapList(List<S> srcList, Class<D>dstListType){
+
+        if(srcList == null|| dstListType == null){
+            return null;
+        }
+        List<D> mappedList = new ArrayList<>(srcList.size());
+        MappingPlan<?, D> plan = null;
+        Class<?> firstSourceClazz = null;
+        //One context for the whole list, each element is a graph of its own
+        MappingContext context = MappingContext.acquire();
+        boolean metered = MapperMetrics.isEnabled();
+        long start = metered? System.nanoTime(): 0L;
+        Object slowCall = MapperEvents.beginCall();
+        try {
+            for(S elem: srcList){
+                if(elem == null){
+                    mappedList.add( null );
+                    continue;
+                }
+                //Lists are usually homogeneous, so the plan is only looked up again when element class changes
+                if(plan == null || plan.getSourceClazz() != elem.getClass()){
+                    plan = MappingPlanCache.lookup(elem.getClass(), dstListType);
+                    firstSourceClazz = firstSourceClazz != null? firstSourceClazz: elem.getClass();
+                }
+                D currMappedObj = executePlan(plan, elem, context);
+                context.clear();
+                mappedList.add( currMappedObj );
+            }
+        } finally {
+            if(metered){
+                recordMetrics( firstSourceClazz, dstListType, start, context );
+            }
+            MapperEvents.endCall( slowCall, "mapList", firstSourceClazz, dstListType, context.getMappedObjects() );
+            context.release();
+        }
+        return mappedList;
+    }
+
+    /**
+     * Map the srcList to a List of a given Class Type spreading the work across the pool threads
+     *
+     * @see #mapListParallel(List, Class, ForkJoinPool, int)
+     */
+    public static <S, D> List<D> mapListParallel(List<S> srcList, Class<D>dstListType, ForkJoinPool pool){
+        return mapListParallel(srcList, dstListType, pool, PARALLEL_DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Map the srcList to a List of a given Class Type spreading the work across the pool threads
+     *
+     * The source is split in halves until chunks hold no more than threshold elements, every chunk maps its
+     * elements straight into its own slots of the presized result list, so the source order is kept without any
+     * merge or copy step. Lists up to threshold elements are mapped sequentially in the calling thread
+     *
+     * @param srcList     non random access lists are copied first
+     * @param dstListType
+     * @param pool        pool running the chunks, {@link ForkJoinPool#commonPool()} when null
+     * @param threshold   number of elements below which the work is not split anymore
+     * @param <S>
+     * @param <D>
+     * @return
+     */
+    public static <S, D> List<D> mapListParallel(List<S> srcList, Class<D>dstListType, ForkJoinPool pool, int threshold){
+
+        if(srcList == null|| dstListType == null){
+            return null;
+        }
+        if(threshold <= 0){
+            throw new IllegalArgumentException(String.format("Parallel mapping threshold must be positive: %d", threshold));
+        }
+        if(srcList.size() <= threshold){
+            return mapList(srcList, dstListType);
+        }
+        ForkJoinPool executor = pool != null? pool: ForkJoinPool.commonPool();
+        List<S> source = srcList instanceof RandomAccess? srcList: new ArrayList<>(srcList);
+        //Chunks only set their own slots, never a structural change, and joining them publishes every slot
+        List<D> mapped = new ArrayList<>( Collections.<D>nCopies(source.size(), null) );
+        boolean metered = MapperMetrics.isEnabled();
+        long start = metered? System.nanoTime(): 0L;
+        Object slowCall = MapperEvents.beginCall();
+        long mappedObjects = executor.invoke( new MapListTask<>(source, dstListType, mapped, 0, mapped.size(), threshold) );
+        if(slowCall != null){
+            MapperEvents.endCall( slowCall, "mapListParallel", firstClassOf(source), dstListType, mappedObjects );
+        }
+        //Chunks count their objects themselves, the call goes to the pair of the first element as in mapList
+        if(metered){
+            MapperMetrics.recordCall( firstClassOf(source), dstListType, System.nanoTime() - start );
+        }
+        return mapped;
+    }
+
+
+
+    /**
+     * Lazily map the source iterator, an element is only mapped when it is pulled out of the returned iterator
+     * so nothing is materialised and memory stays constant whatever the number of elements
+     *
+     * @param srcIterator
+     * @param dstClazz
+     * @param <S>
+     * @param <D>
+     * @return an iterator over the mapped elements, removing from it removes from srcIterator
+     */
+    public static <S, D> Iterator<D> mapIterator(final Iterator<S> srcIterator, final Class<D> dstClazz){
+
+        if(srcIterator == null || dstClazz == null){
+            return null;
+        }
+        return new Iterator<D>() {
+
+            private MappingPlan<?, D> plan;
+
+            @Override
+            public boolean hasNext() {
+                return srcIterator.hasNext();
+            }
+
+            @Override
+            public D next() {
+                S elem = srcIterator.next();
+                if(elem == null){
+                    return null;
+                }
+                //Same as mapList, the plan is only looked up again when element class changes
+                if(plan == null || plan.getSourceClazz() != elem.getClass()){
+                    plan = MappingPlanCache.lookup(elem.getClass(), dstClazz);
+                }
+                return mapElement(plan, elem, dstClazz);
+            }
+
+            @Override
+            public void remove() {
+                srcIterator.remove();
+            }
+        };
+    }
+
+    /**
+     * Lazily map the source stream, elements are mapped by the terminal operation as they flow through it
+     *
+     * The returned stream keeps the characteristics of srcStream, e.g: a parallel source is mapped in parallel,
+     * and closing it closes srcStream
+     *
+     * @param srcStream
+     * @param dstClazz
+     * @param <S>
+     * @param <D>
+     * @return
+     */
+    public static <S, D> Stream<D> mapStream(Stream<S> srcStream, final Class<D> dstClazz){
+
+        if(srcStream == null || dstClazz == null){
+            return null;
+        }
+        return srcStream.map(new Function<S, D>() {
+
+            //One per pipeline, a parallel stream may race to replace it which only costs a lookup
+            private volatile MappingPlan<?, D> plan;
+
+            @Override
+            public D apply(S elem) {
+                if(elem == null){
+                    return null;
+                }
+                //Same as mapIterator, the plan is only looked up again when element class changes
+                MappingPlan<?, D> curr = plan;
+                if(curr == null || curr.getSourceClazz() != elem.getClass()){
+                    curr = MappingPlanCache.lookup(elem.getClass(), dstClazz);
+                    plan = curr;
+                }
+                return mapElement(curr, elem, dstClazz);
+            }
+        });
+    }
+
+    /**
+     * Deep copy the following object
+     *
+     * Graphs of any depth are copied without recursion, an object reachable through several paths is copied once
+     * and cycles are kept
+     *
+     * @param obj
+     * @param <R>
+     * @return
+     */
+    public static <R> R deepCopyOf(Object obj){
+        return copy( deepCopier, obj, "deepCopyOf" );
+    }
+
+    /**
+     * Deep copy the following object, copying lists, sets and maps up front or on their first write.
+     * Whatever the mode the copy has the class of obj, only containers reached from it may be copy-on-write views
+     *
+     * @see CopyOnWriteDeepCopier for what a copy-on-write copy shares with obj
+     *
+     * @param obj
+     * @param mode
+     * @param <R>
+     * @return
+     */
+    public static <R> R deepCopyOf(Object obj, DeepCopyMode mode){
+        if(mode == null){
+            throw new IllegalArgumentException("mode cannot be null");
+        }
+        switch (mode){
+            case COPY_ON_WRITE:
+                return copy( CopyOnWriteDeepCopier.getInstance(), obj, "deepCopyOf" );
+            default:
+                return copy( deepCopier, obj, "deepCopyOf" );
+        }
+    }
+
+
+    /**
+     * Deep copy the following object, copying large arrays, collections and maps in parallel
+     *
+     * @see #deepCopyOfParallel(Object, ForkJoinPool, int)
+     */
+    public static <R> R deepCopyOfParallel(Object obj, ForkJoinPool pool){
+        return deepCopyOfParallel(obj, pool, ParallelDeepCopier.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Deep copy the following object, containers holding more than threshold elements have their elements copied
+     * by parallel sub-tasks of pool. Shared objects are still copied once and cycles kept, but see
+     * {@link ParallelDeepCopier} about shared set elements and map keys
+     *
+     * @param obj
+     * @param pool      pool running the sub-tasks, {@link ForkJoinPool#commonPool()} when null
+     * @param threshold number of elements above which a container is copied in parallel
+     * @param <R>
+     * @return
+     */
+    public static <R> R deepCopyOfParallel(Object obj, ForkJoinPool pool, int threshold){
+        ForkJoinPool executor = pool != null? pool: ForkJoinPool.commonPool();
+        return copy( new ParallelDeepCopier(executor, threshold), obj, "deepCopyOfParallel" );
+    }
+
+    /**
+     * Switch how properties are read and written, already built mapping and copy plans are dropped
+     *
+     * @param engineMode
+     * @see EngineMode
+     */
+    public static void setEngineMode(EngineMode engineMode){
+        Accessors.setMode( engineMode );
+        MappingPlanCache.clear();
+        IterativeDeepCopier.clearCopyPlans();
+    }
+
+    /**
+     * Map the given pair through a mapper class generated at runtime, whatever the engine mode is.
+     * Properties the generated class cannot copy, or the whole pair if generation fails, keep going through
+     * the reflective engine. The generated class writes through the destination setters, see {@link EngineMode#GENERATED}
+     *
+     * @param srcClazz
+     * @param dstClazz
+     */
+    public static void useGeneratedMapper(Class<?> srcClazz, Class<?> dstClazz){
+        MappingPlanCache.generateMapperFor(srcClazz, dstClazz);
+    }
+
+    /**
+     * @return the engine mode currently used for building mapping plans
+     */
+    public static EngineMode getEngineMode(){
+        return Accessors.getMode();
+    }
+
+
+    /**############################################## PRIVATE PART  ################################################**/
+
+
+
+    /**
+     * Map an object to another object from different class
+     *
+     * @param sourceObj source object which we want to map to
+     * @param dstClazz  class of destiny object
+     * @param context   source objects already mapped in this graph, prevents infinite loops and maps shared objects once
+     * @param <S>
+     * @param <D>
+     * @return a mapped object from Class<D>
+     */
+    private static <S, D> D map(S sourceObj, Class<D> dstClazz, MappingContext context){
+
+        if(sourceObj == null || dstClazz == null){
+            return null;
+        }
+        //DESTINY CLASS FIELDS AND THEIR MAPPING STRATEGY ARE INTROSPECTED ONLY ONCE PER (SOURCE, DESTINY) PAIR
+        MappingPlan<?, D> plan = MappingPlanCache.lookup(sourceObj.getClass(), dstClazz);
+        return executePlan(plan, sourceObj, context);
+    }
+
+
+    /**
+     * Map srcList elements within [from, to) into the same slots of mapped, srcList must be random access
+     *
+     * @param srcList
+     * @param dstListType
+     * @param mapped
+     * @param from
+     * @param to
+     * @return number of objects mapped, nested ones included
+     */
+    private static <S, D> long mapRange(List<S> srcList, Class<D> dstListType, List<D> mapped, int from, int to){
+
+        MappingPlan<?, D> plan = null;
+        Class<?> firstSourceClazz = null;
+        MappingContext context = MappingContext.acquire();
+        try {
+            for(int idx = from; idx < to; ++idx){
+                S elem = srcList.get(idx);
+                if(elem == null){
+                    continue;
+                }
+                if(plan == null || plan.getSourceClazz() != elem.getClass()){
+                    plan = MappingPlanCache.lookup(elem.getClass(), dstListType);
+                    firstSourceClazz = firstSourceClazz != null? firstSourceClazz: elem.getClass();
+                }
+                mapped.set(idx, executePlan(plan, elem, context));
+                context.clear();
+            }
+            return context.getMappedObjects();
+        } finally {
+            MapperMetrics.recordWork( firstSourceClazz, dstListType, context.getMappedObjects(), context.getMappedFields() );
+            context.release();
+        }
+    }
+
+    /**
+     * Run the plan of sourceObj class and dstObject class into dstObject
+     *
+     * @see #mapInto(Object, Object, MappingOptions)
+     */
+    private static <D> D mapInto(Object sourceObj, D dstObject, MappingOptions options, MappingContext context){
+
+        MappingPlan<?, D> plan = MappingPlanCache.lookup(sourceObj.getClass(), (Class<D>) dstObject.getClass());
+        context.register( sourceObj, dstObject );
+        context.countMapped( plan.getAllPropertyMappings().size() );
+        boolean filtered = options.isSkipNulls() || options.isOnlyChanged();
+        //The generated mapper writes unconditionally, values must be checked one by one
+        if( !filtered && plan.getGeneratedMapper() != null ){
+            ((Mapper<Object, D>) plan.getGeneratedMapper()).map(sourceObj, dstObject);
+        }
+        for(PropertyMapping property: filtered? plan.getAllPropertyMappings(): plan.getPropertyMappings()){
+
+            Object value = property.read( sourceObj );
+            if(value == null && options.isSkipNulls()){
+                continue;
+            }
+            Object current = property.readTarget( dstObject );
+            if(options.isOnlyChanged() && Objects.equals(value, current)){
+                continue;
+            }
+            Object clone;
+            switch ( property.getCopyMode() ){
+                case ASSIGN:
+                    clone = value;
+                    break;
+                case DEEP_COPY:
+                    clone = deepCopier.copy( value );
+                    break;
+                default:
+                    if( value == null || value.getClass() == property.getTargetType() ){
+                        clone = deepCopier.copy( value );
+                        break;
+                    }
+                    clone = context.lookup( value, property.getTargetType() );
+                    if( clone == null && current != null && !(current instanceof LazyLoaded) ){
+                        //Update the nested object in place, nothing to write
+                        mapInto( value, current, options, context );
+                        continue;
+                    }
+                    if( clone == null ){
+                        clone = map(value, property.getTargetType(), context);
+                    }
+            }
+            property.write( dstObject, clone );
+        }
+        return dstObject;
+    }
+
+    /**
+     * Deep copy a property value with the engine an eager mapping uses, as part of a mapping already metered
+     */
+    static Object copyProperty(Object value){
+        return deepCopier.copy( value );
+    }
+
+    /**
+     * Map sourceObj as part of a lazy mapping, objects mapped along the way are registered in graph
+     */
+    static <D> D mapLazily(Object sourceObj, Class<D> dstClazz, LazyGraph graph){
+
+        MappingContext context = MappingContext.acquire();
+        context.setLazyGraph( graph );
+        try {
+            return map( sourceObj, dstClazz, context );
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Run a precompiled mapping plan against sourceObj
+     *
+     * @param plan      plan built for sourceObj class and the destiny class
+     * @param sourceObj source object which we want to map to
+     * @param context   source objects already mapped in this graph, prevents infinite loops and maps shared objects once
+     * @param <D>
+     * @return a mapped object from plan destiny class
+     */
+    private static <D> D executePlan(MappingPlan<?, D> plan, Object sourceObj, MappingContext context){
+
+        LazyGraph lazyGraph = context.getLazyGraph();
+        LazyType<D> lazyType = lazyGraph != null? LazyType.of( plan.getDestinationClazz() ): null;
+        D dstObject = lazyType != null? lazyType.newInstance(): newInstanceOf( plan.getDestinationClazz() );
+        //Registered before being filled, so a reference back to sourceObj resolves to dstObject
+        context.register( sourceObj, dstObject );
+        context.countMapped( plan.getAllPropertyMappings().size() );
+        if(lazyGraph != null){
+            lazyGraph.register( sourceObj, dstObject );
+        }
+        if( plan.getGeneratedMapper() != null ){
+            ((Mapper<Object, D>) plan.getGeneratedMapper()).map(sourceObj, dstObject);
+        }
+        LazyState lazyState = null;
+        for(PropertyMapping property: plan.getPropertyMappings()){
+
+            Object value = property.read( sourceObj );
+            if(lazyType != null && value != null && property.getCopyMode() != CopyMode.ASSIGN
+                    && lazyGraph.lookup(value, property.getTargetType()) == null){
+                int slot = lazyType.slotOf( property.getTarget() );
+                if(slot >= 0){
+                    if(lazyState == null){
+                        lazyState = lazyType.newState( dstObject, lazyGraph );
+                    }
+                    lazyState.defer( slot, property, value );
+                    continue;
+                }
+            }
+            Object clone;
+            switch ( property.getCopyMode() ){
+                case ASSIGN:
+                    clone = value;
+                    break;
+                case DEEP_COPY:
+                    clone = deepCopier.copy( value );
+                    break;
+                default:
+                    if( value != null && value.getClass() == property.getTargetType() ){
+                        clone = deepCopier.copy( value );
+                    }
+                    else{
+                        clone = lazyGraph != null? lazyGraph.lookup( value, property.getTargetType() ):
+                                context.lookup( value, property.getTargetType() );
+                        if( clone == null ){
+                            clone = map(value, property.getTargetType(), context);
+                        }
+                    }
+            }
+            property.write( dstObject, clone );
+        }
+        if(lazyState != null){
+            ((LazyLoaded) dstObject).initLazyState( lazyState );
+        }
+        return dstObject;
+    }
+
+
+    /**
+     * Deep copy obj with copier, counting the call when metrics are enabled and reporting it when slow
+     */
+    private static <R> R copy(DeepCopier copier, Object obj, String operation){
+
+        if(obj == null){
+            return null;
+        }
+        boolean metered = MapperMetrics.isEnabled();
+        Object slowCall = MapperEvents.beginCall();
+        if( !metered && slowCall == null ){
+            return (R) copier.copy( obj );
+        }
+        long start = metered? System.nanoTime(): 0L;
+        try {
+            return (R) copier.copy( obj );
+        } finally {
+            if(metered){
+                MapperMetrics.recordCall( obj.getClass(), obj.getClass(), System.nanoTime() - start );
+            }
+            MapperEvents.endCall( slowCall, operation, obj.getClass(), obj.getClass(), MapperEvents.objectCountOf(obj) );
+        }
+    }
+
+    /**
+     * Map an element of an iterator or a stream with plan. Elements may be mapped from different threads, the
+     * context is only held while mapping one
+     */
+    private static <D> D mapElement(MappingPlan<?, D> plan, Object elem, Class<D> dstClazz){
+        MappingContext context = MappingContext.acquire();
+        boolean metered = MapperMetrics.isEnabled();
+        long start = metered? System.nanoTime(): 0L;
+        try {
+            return executePlan(plan, elem, context);
+        } finally {
+            if(metered){
+                recordMetrics( elem.getClass(), dstClazz, start, context );
+            }
+            context.release();
+        }
+    }
+
+    /**
+     * @return class of the first non null element, or null
+     */
+    private static Class<?> firstClassOf(List<?> list){
+        for(Object curr: list){
+            if(curr != null){
+                return curr.getClass();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Count a call of the pair started at start, with the objects and fields context mapped meanwhile
+     */
+    private static void recordMetrics(Class<?> srcClazz, Class<?> dstClazz, long start, MappingContext context){
+        MapperMetrics.recordCall( srcClazz, dstClazz, System.nanoTime() - start );
+        MapperMetrics.recordWork( srcClazz, dstClazz, context.getMappedObjects(), context.getMappedFields() );
+    }
+
+
+    /**
+     * Fork/join task mapping a range of a list into a shared, presized array, yields the number of objects mapped
+     */
+    private static final class MapListTask<S, D> extends RecursiveTask<Long> {
+
+        private final List<S>  srcList;
+        private final Class<D> dstListType;
+        private final List<D>  mapped;
+        private final int      from;
+        private final int      to;
+        private final int      threshold;
+
+        MapListTask(List<S> srcList, Class<D> dstListType, List<D> mapped, int from, int to, int threshold) {
+            this.srcList     = srcList;
+            this.dstListType = dstListType;
+            this.mapped      = mapped;
+            this.from        = from;
+            this.to          = to;
+            this.threshold   = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if(to - from <= threshold){
+                return mapRange(srcList, dstListType, mapped, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            MapListTask<S, D> left  = new MapListTask<>(srcList, dstListType, mapped, from, middle, threshold);
+            MapListTask<S, D> right = new MapListTask<>(srcList, dstListType, mapped, middle, to, threshold);
+            invokeAll( left, right );
+            return left.join() + right.join();
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+package com.dynamicmapper.mapper.access;
+
+import com.dynamicmapper.commons.ConcurrentLRUCache;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Turns getters and fields into {@link Function} / {@link BiConsumer} accessors, once.
+ *
+ * On {@link EngineMode#METHOD_HANDLE} (and {@link EngineMode#GENERATED}) public getters of classes visible from this library are spun into real
+ * lambdas through {@link LambdaMetafactory}, so the JIT sees a plain interface call it can inline. Anything else
+ * (non public members, fields, classes from other class loaders) goes through a {@link MethodHandle} adapted to
+ * Object signatures. On {@link EngineMode#REFLECTIVE} plain Method.invoke and Field.get/set are used.
+ *
+ * The initial mode can be given through the <tt>dynamicmapper.engine</tt> system property. Field accessors are kept
+ * in a bounded {@link ConcurrentLRUCache}, an evicted one is built again on next use
+ */
+public final class Accessors {
+
+
+    public static final String ENGINE_MODE_PROPERTY = "dynamicmapper.engine";
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType OBJECT_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType OBJECT_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Function<Object, Object> NULL_READER = new Function<Object, Object>() {
+        @Override public Object apply(Object underlyingObject) {
+            return null;
+        }
+    };
+
+    private static volatile EngineMode mode = EngineMode.forName(System.getProperty(ENGINE_MODE_PROPERTY),
+            EngineMode.METHOD_HANDLE);
+
+    private static final int FIELD_ACCESSOR_CACHE_DEFAULT_CAPACITY = 1024;
+
+    private static final ConcurrentLRUCache<Field, FieldAccessor> cachedFieldAccessors =
+            new ConcurrentLRUCache<>(FIELD_ACCESSOR_CACHE_DEFAULT_CAPACITY);
+
+
+    private Accessors(){
+    }
+
+    public static EngineMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Switch the engine mode, accessors already handed out are left untouched
+     *
+     * @param engineMode
+     */
+    public static void setMode(EngineMode engineMode) {
+        if(engineMode == null){
+            throw new IllegalArgumentException("engineMode cannot be null");
+        }
+        mode = engineMode;
+        cachedFieldAccessors.clear();
+    }
+
+    /**
+     * Build a reader invoking the given no-args method
+     *
+     * @param getter the method to invoke, might be null
+     * @return an accessor always returning null when getter is null
+     */
+    public static Function<Object, Object> getterOf(final Method getter){
+
+        if(getter == null){
+            return NULL_READER;
+        }
+        if(mode != EngineMode.REFLECTIVE){
+            Function<Object, Object> lambda = spinGetterLambda(getter);
+            if(lambda != null){
+                return lambda;
+            }
+            try {
+                getter.setAccessible( true );
+                return methodHandleReader(LOOKUP.unreflect(getter), getter);
+            } catch (IllegalAccessException | RuntimeException e) {
+                //Restricted environment, reflection it is
+            }
+        }
+        return reflectiveGetter(getter);
+    }
+
+    /**
+     * Get the accessor of the given field, built on first call
+     *
+     * @param field
+     * @return
+     */
+    public static FieldAccessor fieldAccessorOf(Field field){
+
+        FieldAccessor accessor = cachedFieldAccessors.get(field);
+        if(accessor == null){
+            field.setAccessible( true );
+            accessor = new FieldAccessor(field, fieldReaderOf(field), fieldWriterOf(field));
+            FieldAccessor alreadyCached = cachedFieldAccessors.putIfAbsent(field, accessor);
+            if(alreadyCached != null){
+                accessor = alreadyCached;
+            }
+        }
+        return accessor;
+    }
+
+    public static int getFieldAccessorCacheSize(){
+        return cachedFieldAccessors.size();
+    }
+
+    public static int getFieldAccessorCacheCapacity(){
+        return cachedFieldAccessors.getCapacity();
+    }
+
+    public static void setFieldAccessorCacheCapacity(int capacity){
+        cachedFieldAccessors.setCapacity( capacity );
+    }
+
+    public static long getFieldAccessorCacheHitCount(){
+        return cachedFieldAccessors.getHitCount();
+    }
+
+    public static long getFieldAccessorCacheMissCount(){
+        return cachedFieldAccessors.getMissCount();
+    }
+
+    public static long getFieldAccessorCacheEvictionCount(){
+        return cachedFieldAccessors.getEvictionCount();
+    }
+
+    public static void setFieldAccessorCacheEvictionListener(
+            ConcurrentLRUCache.EvictionListener<? super Field, ? super FieldAccessor> listener){
+        cachedFieldAccessors.setEvictionListener( listener );
+    }
+
+    /**
+     * Drop every field accessor, they will be built again on demand
+     */
+    public static void clearFieldAccessorCache(){
+        cachedFieldAccessors.clear();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+
+    private static Function<Object, Object> fieldReaderOf(Field field){
+        if(mode != EngineMode.REFLECTIVE){
+            try {
+                return methodHandleReader(LOOKUP.unreflectGetter(field), field);
+            } catch (IllegalAccessException | RuntimeException e) {
+                //Restricted environment, reflection it is
+            }
+        }
+        return reflectiveReader(field);
+    }
+
+    private static BiConsumer<Object, Object> fieldWriterOf(Field field){
+        if(mode != EngineMode.REFLECTIVE){
+            try {
+                return methodHandleWriter(LOOKUP.unreflectSetter(field), field);
+            } catch (IllegalAccessException | RuntimeException e) {
+                //e.g. static final fields, reflection will report the error if someone ever writes them
+            }
+        }
+        return reflectiveWriter(field);
+    }
+
+    /**
+     * Spin a real Function implementation calling getter through LambdaMetafactory
+     *
+     * @param getter
+     * @return the lambda or null when getter is not eligible or the factory refuses it
+     */
+    private static Function<Object, Object> spinGetterLambda(Method getter){
+
+        Class<?> owner = getter.getDeclaringClass();
+        if( !Modifier.isPublic(getter.getModifiers()) || !Modifier.isPublic(owner.getModifiers())
+                || Modifier.isStatic(getter.getModifiers()) || getter.getParameterTypes().length != 0
+                || !isVisibleFromThisLibrary(owner) || !isVisibleFromThisLibrary(getter.getReturnType()) ){
+            return null;
+        }
+        try {
+            MethodHandle target = LOOKUP.unreflect(getter);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                    MethodType.methodType(Function.class),
+                    OBJECT_GETTER_TYPE,
+                    target,
+                    target.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * The generated lambda class lives in this library class loader so it must be able to link against clazz
+     *
+     * @param clazz
+     * @return
+     */
+    private static boolean isVisibleFromThisLibrary(Class<?> clazz){
+        while( clazz.isArray() ){
+            clazz = clazz.getComponentType();
+        }
+        if( clazz.isPrimitive() ){
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, Accessors.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Function<Object, Object> methodHandleReader(MethodHandle handle, final Object member){
+        final MethodHandle reader = handle.asType(OBJECT_GETTER_TYPE);
+        return new Function<Object, Object>() {
+            @Override public Object apply(Object underlyingObject) {
+                try {
+                    return reader.invokeExact(underlyingObject);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(String.format("Error trying read %s on object %s", member,
+                            underlyingObject), e);
+                }
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> methodHandleWriter(MethodHandle handle, final Field field){
+        final MethodHandle writer = handle.asType(OBJECT_SETTER_TYPE);
+        return new BiConsumer<Object, Object>() {
+            @Override public void accept(Object underlyingObject, Object value) {
+                try {
+                    writer.invokeExact(underlyingObject, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(String.format("Error trying set field %s on object %s with value %s",
+                            field, underlyingObject, value), e);
+                }
+            }
+        };
+    }
+
+    private static Function<Object, Object> reflectiveGetter(final Method getter){
+        return new Function<Object, Object>() {
+            @Override public Object apply(Object underlyingObject) {
+                try {
+                    return getter.invoke(underlyingObject);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new RuntimeException( String.format("Error trying invoke method %s reflective", getter ));
+                }
+            }
+        };
+    }
+
+    private static Function<Object, Object> reflectiveReader(final Field field){
+        return new Function<Object, Object>() {
+            @Override public Object apply(Object underlyingObject) {
+                try {
+                    return field.get(underlyingObject);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(String.format("Error trying get field value reflective on object %s",
+                            underlyingObject));
+                }
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> reflectiveWriter(final Field field){
+        return new BiConsumer<Object, Object>() {
+            @Override public void accept(Object underlyingObject, Object value) {
+                try {
+                    field.set(underlyingObject, value);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(String.format("Error trying set field value reflective on object %s with value %s",
+                            underlyingObject, value));
+                }
+            }
+        };
+    }
+}
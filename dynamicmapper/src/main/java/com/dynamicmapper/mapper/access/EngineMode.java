@@ -0,0 +1,38 @@
+package com.dynamicmapper.mapper.access;
+
+/**
+ * How ModelMapper reads and writes properties once a mapping plan is built
+ */
+public enum EngineMode {
+
+    /** Getters spun into lambdas through LambdaMetafactory, falling back to plain MethodHandles otherwise */
+    METHOD_HANDLE,
+    /** Plain java.lang.reflect Method.invoke and Field.get/set, for environments where MethodHandles are restricted */
+    REFLECTIVE,
+    /**
+     * A dedicated mapper class generated at runtime for every pair, METHOD_HANDLE for what it cannot cover.
+     * Unlike the other modes, which write destination fields directly, generated code calls the destination
+     * setters, so a setter doing more than assigning its field (validation, defaults, side effects) runs
+     */
+    GENERATED;
+
+
+    /**
+     * Lookup the mode given by name, ignoring case
+     *
+     * @param name
+     * @param defaultMode returned when name is null or blank
+     * @return
+     */
+    public static EngineMode forName(String name, EngineMode defaultMode){
+        if(name == null || name.trim().isEmpty()){
+            return defaultMode;
+        }
+        for(EngineMode curr: values()){
+            if(curr.name().equalsIgnoreCase(name.trim())){
+                return curr;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown engine mode: %s", name));
+    }
+}
@@ -0,0 +1,34 @@
+package com.dynamicmapper.mapper.access;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads and writes a single field through accessors built once by {@link Accessors}
+ */
+public final class FieldAccessor {
+
+    private final Field field;
+    private final Function<Object, Object> reader;
+    private final BiConsumer<Object, Object> writer;
+
+
+    FieldAccessor(Field field, Function<Object, Object> reader, BiConsumer<Object, Object> writer) {
+        this.field  = field;
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Object get(Object underlyingObject){
+        return reader.apply(underlyingObject);
+    }
+
+    public void set(Object underlyingObject, Object value){
+        writer.accept(underlyingObject, value);
+    }
+}
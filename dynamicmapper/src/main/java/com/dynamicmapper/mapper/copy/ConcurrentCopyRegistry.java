@@ -0,0 +1,51 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CopyRegistry} shared by the tasks of a parallel copy, sources are compared by identity through a thin
+ * key wrapper since the JDK has no concurrent identity map
+ */
+final class ConcurrentCopyRegistry implements CopyRegistry {
+
+
+    private final ConcurrentMap<IdentityKey, Object> copies;
+
+
+    ConcurrentCopyRegistry(int expectedSize) {
+        this.copies = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    @Override
+    public Object lookup(Object source) {
+        return copies.get( new IdentityKey(source) );
+    }
+
+    @Override
+    public Object putIfAbsent(Object source, Object copy) {
+        return copies.putIfAbsent( new IdentityKey(source), copy );
+    }
+
+
+    private static final class IdentityKey {
+
+        private final Object ref;
+        private final int hash;
+
+        IdentityKey(Object ref) {
+            this.ref  = ref;
+            this.hash = System.identityHashCode(ref);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).ref == ref;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dynamicmapper.mapper.copy;
+
+/**
+ * Deep copy engine deferring the copy of lists, sets and maps until they are written.
+ *
+ * Objects and arrays are copied as {@link IterativeDeepCopier} does, but a list, set or map reached through a field
+ * declared as an interface a view implements (List, Set, Map, Collection...) is replaced by a view reading through
+ * the source. Elements read from a view are copied on their first read, and the first write
+ * to a view copies the rest of its content, both sharing the objects already copied; views are cheap so large
+ * read-mostly graphs are snapshotted at the cost of the objects actually read.
+ *
+ * The root is always copied to its own class, as the eager engines do, so a list given as the root comes back as a
+ * list of the same class and only the containers reached from its elements are views.
+ *
+ * The view contract: the source must not change while views still read through it, and a view shared between
+ * threads must be synchronized externally, as the list, set or map it stands for would be
+ */
+public final class CopyOnWriteDeepCopier implements DeepCopier {
+
+
+    private static final CopyOnWriteDeepCopier instance = new CopyOnWriteDeepCopier();
+
+
+    private CopyOnWriteDeepCopier(){
+    }
+
+    public static CopyOnWriteDeepCopier getInstance(){
+        return instance;
+    }
+
+    @Override
+    public <T> T copy(T source) {
+        return source == null? null: (T) new CopyOnWriteSnapshot().copyOf( source );
+    }
+}
@@ -0,0 +1,111 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * List view reading through its source until the first write, which copies the source content. Elements are
+ * copied as they are read.
+ *
+ * Sources without random access (e.g: LinkedList) are read through an array of their elements, taken on first read
+ */
+final class CopyOnWriteList<E> extends AbstractList<E> implements CopyOnWriteView, RandomAccess {
+
+
+    private final CopyOnWriteSnapshot snapshot;
+    private final CopyPlan            plan;
+
+    //dropped once copied
+    private List<E>  source;
+    private Object[] sourceElements;
+    private List<E>  copy;
+
+
+    CopyOnWriteList(CopyOnWriteSnapshot snapshot, List<E> source, CopyPlan plan) {
+        this.snapshot = snapshot;
+        this.source   = source;
+        this.plan     = plan;
+    }
+
+    @Override
+    public E get(int index) {
+        if(copy != null){
+            return copy.get( index );
+        }
+        if(source instanceof RandomAccess){
+            return (E) snapshot.copyOfElement( source.get(index) );
+        }
+        if(sourceElements == null){
+            sourceElements = source.toArray();
+        }
+        if(index < 0 || index >= sourceElements.length){
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, sourceElements.length));
+        }
+        return (E) snapshot.copyOfElement( sourceElements[index] );
+    }
+
+    @Override
+    public int size() {
+        return copy != null? copy.size(): source.size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return writableList().set( index, element );
+    }
+
+    @Override
+    public void add(int index, E element) {
+        writableList().add( index, element );
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = writableList().remove( index );
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        if(copy == null){
+            //Nothing to copy
+            copy = (List<E>) snapshot.emptyCopyOf( source, plan );
+            source = null;
+            sourceElements = null;
+        }else{
+            copy.clear();
+        }
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return copy != null? copy.iterator(): super.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return copy != null? copy.listIterator( index ): super.listIterator( index );
+    }
+
+    @Override
+    public Object writable() {
+        return writableList();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private List<E> writableList(){
+        if(copy == null){
+            copy = (List<E>) snapshot.materialize( source, plan );
+            source = null;
+            sourceElements = null;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,148 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map view reading through its source until the first write, which copies the source content. Keys and values
+ * are copied as they are read, looking up a mutable key copies the content since it is looked up among copies
+ */
+final class CopyOnWriteMap<K, V> extends AbstractMap<K, V> implements CopyOnWriteView {
+
+
+    private final CopyOnWriteSnapshot snapshot;
+    private final CopyPlan            plan;
+
+    //dropped once copied
+    private Map<K, V> source;
+    private Map<K, V> copy;
+    private Set<Map.Entry<K, V>> entries;
+
+
+    CopyOnWriteMap(CopyOnWriteSnapshot snapshot, Map<K, V> source, CopyPlan plan) {
+        this.snapshot = snapshot;
+        this.source   = source;
+        this.plan     = plan;
+    }
+
+    @Override
+    public int size() {
+        return copy != null? copy.size(): source.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if(copy == null && snapshot.isShared(key)){
+            return source.containsKey( key );
+        }
+        return writableMap().containsKey( key );
+    }
+
+    @Override
+    public V get(Object key) {
+        if(copy == null && snapshot.isShared(key)){
+            return (V) snapshot.copyOfElement( source.get(key) );
+        }
+        return writableMap().get( key );
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return writableMap().put( key, value );
+    }
+
+    @Override
+    public V remove(Object key) {
+        return writableMap().remove( key );
+    }
+
+    @Override
+    public void clear() {
+        if(copy == null){
+            copy = (Map<K, V>) snapshot.emptyCopyOf( source, plan );
+            source = null;
+        }else{
+            copy.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if(entries == null){
+            entries = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return copy != null? copy.entrySet().iterator(): new SourceEntryIterator( source );
+                }
+
+                @Override
+                public int size() {
+                    return CopyOnWriteMap.this.size();
+                }
+            };
+        }
+        return entries;
+    }
+
+    @Override
+    public Object writable() {
+        return writableMap();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private Map<K, V> writableMap(){
+        if(copy == null){
+            copy = (Map<K, V>) snapshot.materialize( source, plan );
+            source = null;
+        }
+        return copy;
+    }
+
+    /**
+     * Walks the source entries even once copied by a write, the source never changes. Entries hold the copies of
+     * the source key and value, writes go to the copy
+     */
+    private final class SourceEntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private final Iterator<Map.Entry<K, V>> sourceIterator;
+        private K       lastKey;
+        private boolean removable;
+
+        SourceEntryIterator(Map<K, V> source) {
+            this.sourceIterator = source.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return sourceIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            Map.Entry<K, V> curr = sourceIterator.next();
+            final K key = (K) snapshot.copyOfElement( curr.getKey() );
+            lastKey = key;
+            removable = true;
+            return new AbstractMap.SimpleEntry<K, V>( key, (V) snapshot.copyOfElement(curr.getValue()) ) {
+                @Override
+                public V setValue(V value) {
+                    super.setValue( value );
+                    return writableMap().put( key, value );
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if( !removable ){
+                throw new IllegalStateException();
+            }
+            removable = false;
+            writableMap().remove( lastKey );
+        }
+    }
+}
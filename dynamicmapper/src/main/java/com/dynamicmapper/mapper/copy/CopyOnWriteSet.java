@@ -0,0 +1,110 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Set view reading through its source until the first write, which copies the source content. Elements are
+ * copied as they are iterated, membership of a mutable object copies the content since it is looked up among copies
+ */
+final class CopyOnWriteSet<E> extends AbstractSet<E> implements CopyOnWriteView {
+
+
+    private final CopyOnWriteSnapshot snapshot;
+    private final CopyPlan            plan;
+
+    //dropped once copied
+    private Set<E> source;
+    private Set<E> copy;
+
+
+    CopyOnWriteSet(CopyOnWriteSnapshot snapshot, Set<E> source, CopyPlan plan) {
+        this.snapshot = snapshot;
+        this.source   = source;
+        this.plan     = plan;
+    }
+
+    @Override
+    public int size() {
+        return copy != null? copy.size(): source.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if(copy == null && snapshot.isShared(o)){
+            return source.contains( o );
+        }
+        return writableSet().contains( o );
+    }
+
+    @Override
+    public boolean add(E e) {
+        return writableSet().add( e );
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return writableSet().remove( o );
+    }
+
+    @Override
+    public void clear() {
+        if(copy == null){
+            copy = (Set<E>) snapshot.emptyCopyOf( source, plan );
+            source = null;
+        }else{
+            copy.clear();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        if(copy != null){
+            return copy.iterator();
+        }
+        final Iterator<E> sourceIterator = source.iterator();
+        //Walks the source even once copied by remove, the source never changes
+        return new Iterator<E>() {
+
+            private E       last;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return sourceIterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = (E) snapshot.copyOfElement( sourceIterator.next() );
+                removable = true;
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if( !removable ){
+                    throw new IllegalStateException();
+                }
+                removable = false;
+                writableSet().remove( last );
+            }
+        };
+    }
+
+    @Override
+    public Object writable() {
+        return writableSet();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private Set<E> writableSet(){
+        if(copy == null){
+            copy = (Set<E>) snapshot.materialize( source, plan );
+            source = null;
+        }
+        return copy;
+    }
+}
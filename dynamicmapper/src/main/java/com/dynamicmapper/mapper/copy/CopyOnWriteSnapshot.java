@@ -0,0 +1,113 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State shared by the views of one copy-on-write copy: the registry of everything copied so far, so content copied
+ * when a view is first written shares the objects already copied elsewhere in the graph.
+ *
+ * Every use of the registry is made holding this snapshot lock, so different views of one copy can be read and
+ * written from different threads. A single view is not thread-safe, as the collections it stands for are not
+ */
+final class CopyOnWriteSnapshot {
+
+
+    private final CopyRegistry registry = new IdentityCopyRegistry();
+
+
+    /**
+     * Copy the graph reachable from source, source itself is copied to its own class, never to a view
+     */
+    Object copyOf(Object source){
+        return copyGraph( source, source.getClass() );
+    }
+
+    /**
+     * Get the copy of source to be assigned to a field of declaredType: a view if source is a list, set or map the
+     * field accepts a view for, otherwise a regular copy whose filling is scheduled on stack
+     */
+    Object copyOf(Object source, Class<?> declaredType, IterativeDeepCopier.WorkStack stack){
+
+        Object known = registry.lookup( source );
+        if(known instanceof CopyOnWriteView && !declaredType.isInstance(known)){
+            //Reached before through a field taking the view, this one needs the real collection
+            return ((CopyOnWriteView) known).writable();
+        }
+        if(known != null){
+            return known;
+        }
+        CopyPlan plan = CopyPlan.of( source.getClass() );
+        Object view = viewOf( source, plan );
+        if(view == null || !declaredType.isInstance(view)){
+            return IterativeDeepCopier.copyOf( source, plan, registry, stack );
+        }
+        registry.putIfAbsent( source, view );
+        return view;
+    }
+
+    /**
+     * Copy the content of source, the container a view stands for
+     *
+     * @return the filled copy
+     */
+    synchronized Object materialize(Object source, CopyPlan plan){
+        Object copy = plan.newShell( source );
+        IterativeDeepCopier.WorkStack stack = newStack();
+        IterativeDeepCopier.run( source, copy, plan, registry, stack );
+        IterativeDeepCopier.drain( stack, registry );
+        return copy;
+    }
+
+    /**
+     * @return an empty container of source class, for views cleared before being written
+     */
+    synchronized Object emptyCopyOf(Object source, CopyPlan plan){
+        return plan.newShell( source );
+    }
+
+    /**
+     * Copy an element read through a view not yet written, the first read copies it and later ones, as well as the
+     * container copy made on write, get that same copy
+     */
+    Object copyOfElement(Object element){
+        //An element may be a view itself, as it would be through a field declared as an interface
+        return element == null? null: copyGraph( element, Object.class );
+    }
+
+    /**
+     * @return true if element is its own copy, so it hashes and compares the same in the source and in the copy
+     */
+    boolean isShared(Object element){
+        return element == null || CopyPlan.of( element.getClass() ).getKind() == CopyPlan.Kind.SHARED;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private synchronized Object copyGraph(Object source, Class<?> declaredType){
+        IterativeDeepCopier.WorkStack stack = newStack();
+        Object copy = copyOf(source, declaredType, stack);
+        IterativeDeepCopier.drain(stack, registry);
+        return copy;
+    }
+
+    private IterativeDeepCopier.WorkStack newStack(){
+        IterativeDeepCopier.WorkStack stack = new IterativeDeepCopier.WorkStack();
+        stack.snapshot = this;
+        return stack;
+    }
+
+    private Object viewOf(Object source, CopyPlan plan){
+        switch (plan.getKind()){
+            case COLLECTION:
+                return source instanceof List? new CopyOnWriteList<>(this, (List<?>) source, plan): null;
+            case HASHED_COLLECTION:
+                return source instanceof Set? new CopyOnWriteSet<>(this, (Set<?>) source, plan): null;
+            case MAP:
+                return new CopyOnWriteMap<>(this, (Map<?, ?>) source, plan);
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dynamicmapper.mapper.copy;
+
+/**
+ * A list, set or map standing for the copy of a source container until written to. Not thread-safe
+ */
+interface CopyOnWriteView {
+
+    /**
+     * Copy the source content now if not yet done
+     *
+     * @return the copy the view reads and writes from now on
+     */
+    Object writable();
+}
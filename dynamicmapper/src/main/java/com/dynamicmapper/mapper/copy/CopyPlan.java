@@ -0,0 +1,234 @@
+package com.dynamicmapper.mapper.copy;
+
+import com.dynamicmapper.commons.CollectionFactory;
+import com.dynamicmapper.commons.CollectionInstantiator;
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.access.FieldAccessor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * How objects of a given class are copied, worked out once per class: what kind of object it is, how an empty
+ * copy is created and, for plain objects, the accessors of the fields to copy.
+ *
+ * Static and final fields are not copied
+ */
+final class CopyPlan {
+
+
+    enum Kind {
+        /** Immutable classes: JDK value classes, enums and classes registered as such, never copied */
+        SHARED,
+        /** Arrays of primitives or of immutable objects, copied in bulk */
+        FLAT_ARRAY,
+        /** Arrays of mutable objects, every element is copied */
+        ARRAY,
+        /** Collections whose elements can be added before being filled, e.g: lists */
+        COLLECTION,
+        /** Sets and priority queues, elements hash or compare so they must be complete before being added */
+        HASHED_COLLECTION,
+        MAP,
+        OBJECT
+    }
+
+    private static final ConcurrentMap<Class<?>, CopyPlan> cachedPlans = new ConcurrentHashMap<>();
+
+    private final Class<?>               type;
+    private final Kind                   kind;
+    private final Constructor<?>         constructor;
+    private final FieldAccessor[]        fields;
+    //fields whose declared type is immutable, their value is assigned as is
+    private final boolean[]              sharedFields;
+    //arrays only, plan of the component type, elements of exactly that class skip the plans lookup
+    private final CopyPlan               componentPlan;
+    //collections and maps only, creates the copy sized for the source elements
+    private final CollectionInstantiator instantiator;
+
+
+    private CopyPlan(Class<?> type, Kind kind, Constructor<?> constructor, FieldAccessor[] fields,
+                     boolean[] sharedFields, CopyPlan componentPlan, CollectionInstantiator instantiator) {
+        this.type          = type;
+        this.kind          = kind;
+        this.constructor   = constructor;
+        this.fields        = fields;
+        this.sharedFields  = sharedFields;
+        this.componentPlan = componentPlan;
+        this.instantiator  = instantiator;
+    }
+
+    private CopyPlan(Class<?> type, Kind kind) {
+        this(type, kind, null, null, null, null, null);
+    }
+
+    private CopyPlan(Class<?> type, Kind kind, CollectionInstantiator instantiator) {
+        this(type, kind, null, null, null, null, instantiator);
+    }
+
+    /**
+     * @param clazz
+     * @return the cached plan for clazz
+     */
+    static CopyPlan of(Class<?> clazz){
+        CopyPlan plan = cachedPlans.get( clazz );
+        if(plan == null){
+            plan = compile( clazz );
+            CopyPlan raced = cachedPlans.putIfAbsent( clazz, plan );
+            if(raced != null){
+                plan = raced;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Drop every plan, e.g: when the engine mode changes field accessors
+     */
+    static void clear(){
+        cachedPlans.clear();
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    FieldAccessor[] getFields() {
+        return fields;
+    }
+
+    boolean[] getSharedFields() {
+        return sharedFields;
+    }
+
+    /**
+     * @param element an element of an array of this plan class
+     * @return the plan of element class
+     */
+    CopyPlan planOfElement(Object element){
+        return element.getClass() == componentPlan.type? componentPlan: of( element.getClass() );
+    }
+
+    /**
+     * Copy in bulk an array of primitives or immutable objects
+     *
+     * @param source an array of this plan class
+     * @return
+     */
+    Object copyFlatArray(Object source){
+        int length = Array.getLength( source );
+        Object copy = Array.newInstance( type.getComponentType(), length );
+        System.arraycopy( source, 0, copy, 0, length );
+        return copy;
+    }
+
+    /**
+     * Create the empty copy of source, to be filled later
+     *
+     * @param source an object of this plan class
+     * @return
+     */
+    Object newShell(Object source){
+        switch (kind){
+            case ARRAY:
+                return Array.newInstance( type.getComponentType(), Array.getLength(source) );
+            case COLLECTION:
+            case HASHED_COLLECTION:
+                return instantiator.newInstance( source, ((Collection<?>) source).size() );
+            case MAP:
+                return instantiator.newInstance( source, ((Map<?, ?>) source).size() );
+            default:
+                return newInstance();
+        }
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private Object newInstance(){
+        if(constructor == null){
+            throw new RuntimeException(String
+                    .format("Cannot instantiate reflective object from class %s: No default constructor provided",
+                            type));
+        }
+        try {
+            return constructor.newInstance();
+        } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+            throw new RuntimeException(String
+                    .format("Cannot instantiate reflective object from class %s: No default constructor provided",
+                            type));
+        }
+    }
+
+    private static CopyPlan compile(Class<?> clazz){
+
+        if( isImmutable(clazz) ){
+            return new CopyPlan(clazz, Kind.SHARED);
+        }
+        if( clazz.isArray() ){
+            Class<?> componentType = clazz.getComponentType();
+            if( componentType.isPrimitive() || isImmutable(componentType) ){
+                return new CopyPlan(clazz, Kind.FLAT_ARRAY);
+            }
+            return new CopyPlan(clazz, Kind.ARRAY, null, null, null, of(componentType), null);
+        }
+        if( Set.class.isAssignableFrom(clazz) || PriorityQueue.class.isAssignableFrom(clazz)
+                || PriorityBlockingQueue.class.isAssignableFrom(clazz) ){
+            return new CopyPlan(clazz, Kind.HASHED_COLLECTION, CollectionFactory.instantiatorOf(clazz));
+        }
+        if( Collection.class.isAssignableFrom(clazz) ){
+            return new CopyPlan(clazz, Kind.COLLECTION, CollectionFactory.instantiatorOf(clazz));
+        }
+        if( Map.class.isAssignableFrom(clazz) ){
+            return new CopyPlan(clazz, Kind.MAP, CollectionFactory.instantiatorOf(clazz));
+        }
+        List<FieldAccessor> accessors = new ArrayList<>();
+        List<Boolean>       shared    = new ArrayList<>();
+        for(Field field: ReflectionUtils.getClazzFieldsAlongTheHierarchy( clazz )){
+            int modifiers = field.getModifiers();
+            if( Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) ){
+                continue;
+            }
+            accessors.add( Accessors.fieldAccessorOf(field) );
+            shared.add( isImmutable(field.getType()) );
+        }
+        boolean[] sharedFields = new boolean[shared.size()];
+        for(int i=0; i< sharedFields.length; ++i){
+            sharedFields[i] = shared.get(i);
+        }
+        return new CopyPlan(clazz, Kind.OBJECT, defaultConstructorOf(clazz),
+                accessors.toArray(new FieldAccessor[accessors.size()]), sharedFields, null, null);
+    }
+
+    /**
+     * Enums, JDK value classes and classes registered as immutable
+     *
+     * @see com.dynamicmapper.commons.ImmutableTypes
+     */
+    private static boolean isImmutable(Class<?> clazz){
+        return ReflectionUtils.typeIsAwellKnownImmutableClazzFromJDK(clazz);
+    }
+
+    private static Constructor<?> defaultConstructorOf(Class<?> clazz){
+        try {
+            Constructor<?> c = clazz.getConstructor();
+            if( !c.isAccessible() ){
+                c.setAccessible(true);
+            }
+            return c;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+}
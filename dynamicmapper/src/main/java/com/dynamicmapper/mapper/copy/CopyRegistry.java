@@ -0,0 +1,23 @@
+package com.dynamicmapper.mapper.copy;
+
+/**
+ * Remembers, by identity, the copy made of each source object so an object reachable through several paths
+ * is copied once and cycles end
+ */
+interface CopyRegistry {
+
+    /**
+     * @param source
+     * @return the copy already made of source or <tt>null</tt>
+     */
+    Object lookup(Object source);
+
+    /**
+     * Record copy as the copy of source unless there is one already
+     *
+     * @param source
+     * @param copy
+     * @return the copy already registered, or <tt>null</tt> if the given one was recorded
+     */
+    Object putIfAbsent(Object source, Object copy);
+}
@@ -0,0 +1,15 @@
+package com.dynamicmapper.mapper.copy;
+
+/**
+ * Copies an object graph: every reachable mutable object is copied, immutable ones (JDK value classes, enums and
+ * the classes registered on {@link com.dynamicmapper.commons.ImmutableTypes}) are shared
+ */
+public interface DeepCopier {
+
+    /**
+     * @param source
+     * @param <T>
+     * @return a deep copy of source or <tt>null</tt> when source is null
+     */
+    <T> T copy(T source);
+}
@@ -0,0 +1,17 @@
+package com.dynamicmapper.mapper.copy;
+
+/**
+ * How {@link com.dynamicmapper.mapper.ModelMapper#deepCopyOf(Object, DeepCopyMode)} copies a graph
+ */
+public enum DeepCopyMode {
+
+    /** Everything reachable is copied up front */
+    EAGER,
+    /**
+     * Lists, sets and maps are not copied but wrapped in views reading through the source, their elements are
+     * copied as they are read and the rest of their content on the first write to the view
+     *
+     * @see CopyOnWriteDeepCopier
+     */
+    COPY_ON_WRITE
+}
@@ -0,0 +1,28 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Single threaded {@link CopyRegistry}
+ */
+final class IdentityCopyRegistry implements CopyRegistry {
+
+
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+
+    @Override
+    public Object lookup(Object source) {
+        return copies.get( source );
+    }
+
+    @Override
+    public Object putIfAbsent(Object source, Object copy) {
+        Object previous = copies.get( source );
+        if(previous == null){
+            copies.put( source, copy );
+        }
+        return previous;
+    }
+}
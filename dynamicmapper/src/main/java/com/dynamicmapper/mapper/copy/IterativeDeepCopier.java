@@ -0,0 +1,330 @@
+package com.dynamicmapper.mapper.copy;
+
+import com.dynamicmapper.mapper.access.FieldAccessor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deep copy engine walking the graph with an explicit work stack instead of the call stack, so graphs of any
+ * depth (long parent chains, linked lists of linked objects...) are copied in a loop without overflowing.
+ *
+ * An object is copied in two steps: its empty copy (the shell) is created and registered as soon as the object is
+ * reached, then a task filling it is pushed. References back to an object already reached resolve to its shell,
+ * so shared objects are copied once and cycles are kept.
+ *
+ * Sets and maps hash their elements, so they are only filled once every element copy is complete: the adds are
+ * held until the stack is drained, an element reached earlier through a field may still be waiting for its fill,
+ * then run with the sets and maps reachable from the elements first. Within a cycle an element might still be
+ * incomplete when it is added, which is the same limit java serialization has
+ */
+public final class IterativeDeepCopier implements DeepCopier {
+
+
+    private static final IterativeDeepCopier instance = new IterativeDeepCopier();
+
+    //Task markers, the third slot of a frame is either one of these or the plan of the object to fill
+    static final Object ADD_ELEMENTS = new Object();
+    static final Object PUT_ENTRIES  = new Object();
+
+
+    private IterativeDeepCopier(){
+    }
+
+    public static IterativeDeepCopier getInstance(){
+        return instance;
+    }
+
+    /**
+     * Drop the copy plans computed so far
+     */
+    public static void clearCopyPlans(){
+        CopyPlan.clear();
+    }
+
+    @Override
+    public <T> T copy(T source) {
+        return copy(source, new IdentityCopyRegistry());
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    <T> T copy(T source, CopyRegistry registry){
+
+        if(source == null){
+            return null;
+        }
+        WorkStack stack = new WorkStack();
+        T copy = (T) copyOf(source, registry, stack);
+        drain(stack, registry);
+        return copy;
+    }
+
+    /**
+     * Run the stack tasks until none is left
+     */
+    static void drain(WorkStack stack, CopyRegistry registry){
+        List<Object[]> hashedFills = null;
+        while( !stack.isEmpty() ){
+            stack.pop();
+            if(stack.third == ADD_ELEMENTS || stack.third == PUT_ENTRIES){
+                if(hashedFills == null){
+                    hashedFills = new ArrayList<>();
+                }
+                hashedFills.add( new Object[]{ stack.first, stack.second, stack.third } );
+                continue;
+            }
+            run(stack.first, stack.second, stack.third, registry, stack);
+        }
+        if(hashedFills != null){
+            runHashedFills( hashedFills );
+        }
+    }
+
+    /**
+     * Get the copy of source: source itself if immutable, the copy already made if it was reached before, otherwise
+     * a new shell whose filling is scheduled on stack
+     */
+    static Object copyOf(Object source, CopyRegistry registry, WorkStack stack){
+        return source == null? null: copyOf(source, CopyPlan.of( source.getClass() ), registry, stack);
+    }
+
+    /**
+     * @see #copyOf(Object, CopyRegistry, WorkStack)
+     *
+     * @param source not null
+     * @param plan   plan of source class
+     */
+    static Object copyOf(Object source, CopyPlan plan, CopyRegistry registry, WorkStack stack){
+
+        if(plan.getKind() == CopyPlan.Kind.SHARED){
+            return source;
+        }
+        Object copy = registry.lookup( source );
+        if(copy != null){
+            return copy;
+        }
+        //Nothing to fill later, arrays of primitives or immutable objects are copied right away in bulk
+        boolean flat = plan.getKind() == CopyPlan.Kind.FLAT_ARRAY;
+        copy = flat? plan.copyFlatArray( source ): plan.newShell( source );
+        Object raced = registry.putIfAbsent( source, copy );
+        if(raced != null){
+            return raced;
+        }
+        if( !flat ){
+            stack.push( source, copy, plan );
+        }
+        return copy;
+    }
+
+    static void run(Object first, Object second, Object third, CopyRegistry registry, WorkStack stack){
+
+        if(third == ADD_ELEMENTS){
+            Collection<Object> copy = (Collection<Object>) first;
+            for(Object curr: (Object[]) second){
+                copy.add( curr );
+            }
+            return;
+        }
+        if(third == PUT_ENTRIES){
+            Map<Object, Object> copy = (Map<Object, Object>) first;
+            Object[] entries = (Object[]) second;
+            for(int i=0; i< entries.length; i+=2){
+                copy.put( entries[i], entries[i+1] );
+            }
+            return;
+        }
+        fill(first, second, (CopyPlan) third, registry, stack);
+    }
+
+    private static void fill(Object source, Object copy, CopyPlan plan, CopyRegistry registry, WorkStack stack){
+
+        switch (plan.getKind()){
+            case OBJECT: {
+                FieldAccessor[] fields = plan.getFields();
+                boolean[] shared = plan.getSharedFields();
+                for(int i=0; i< fields.length; ++i){
+                    Object child = fields[i].get( source );
+                    if(child == null){
+                        continue;
+                    }
+                    if(shared[i]){
+                        fields[i].set( copy, child );
+                    }else if(stack.snapshot != null){
+                        fields[i].set( copy, stack.snapshot.copyOf(child, fields[i].getField().getType(), stack) );
+                    }else{
+                        fields[i].set( copy, copyOf(child, registry, stack) );
+                    }
+                }
+                break;
+            }
+            case ARRAY: {
+                Object[] src = (Object[]) source;
+                Object[] dst = (Object[]) copy;
+                for(int i=0; i< src.length; ++i){
+                    Object curr = src[i];
+                    if(curr != null){
+                        dst[i] = copyOf( curr, plan.planOfElement(curr), registry, stack );
+                    }
+                }
+                break;
+            }
+            case COLLECTION: {
+                Collection<Object> dst = (Collection<Object>) copy;
+                for(Object curr: (Collection<?>) source){
+                    dst.add( copyOf(curr, registry, stack) );
+                }
+                break;
+            }
+            case HASHED_COLLECTION: {
+                Collection<?> src = (Collection<?>) source;
+                Object[] elements = new Object[src.size()];
+                //Held by drain until every fill has run
+                stack.push( copy, elements, ADD_ELEMENTS );
+                int idx = 0;
+                for(Object curr: src){
+                    elements[idx++] = copyOf( curr, registry, stack );
+                }
+                break;
+            }
+            case MAP: {
+                Map<?, ?> src = (Map<?, ?>) source;
+                Object[] entries = new Object[src.size() << 1];
+                stack.push( copy, entries, PUT_ENTRIES );
+                int idx = 0;
+                for(Map.Entry<?, ?> curr: src.entrySet()){
+                    entries[idx++] = copyOf( curr.getKey(),   registry, stack );
+                    entries[idx++] = copyOf( curr.getValue(), registry, stack );
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+
+    /**
+     * Add the held elements and entries to their sets and maps once every fill task has run. A container is filled
+     * after every set or map reachable from its elements, so nested ones hash complete copies whatever order the
+     * fills were held in
+     */
+    static void runHashedFills(Collection<Object[]> hashedFills){
+        if( hashedFills.isEmpty() ){
+            return;
+        }
+        Map<Object, Object[]> fillsByContainer = new IdentityHashMap<>();
+        for(Object[] curr: hashedFills){
+            fillsByContainer.put( curr[0], curr );
+        }
+        Set<Object> visited = Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>() );
+        WorkStack stack = new WorkStack();
+        for(Object[] curr: hashedFills){
+            stack.push( curr[0], null, null );
+            while( !stack.isEmpty() ){
+                stack.pop();
+                Object[] fill = (Object[]) stack.second;
+                if(fill != null){
+                    //Second visit of a container, everything reachable from its elements is done
+                    run( fill[0], fill[1], fill[2], null, stack );
+                    continue;
+                }
+                Object obj = stack.first;
+                if( !visited.add(obj) ){
+                    continue;
+                }
+                fill = fillsByContainer.get( obj );
+                if(fill != null){
+                    stack.push( obj, fill, null );
+                    pushAll( (Object[]) fill[1], stack );
+                }else{
+                    pushChildren( obj, stack );
+                }
+            }
+        }
+    }
+
+    private static void pushAll(Object[] objects, WorkStack stack){
+        for(Object curr: objects){
+            if(curr != null){
+                stack.push( curr, null, null );
+            }
+        }
+    }
+
+    private static void pushChildren(Object copy, WorkStack stack){
+        if(copy instanceof CopyOnWriteView){
+            //Reading it would copy its elements, those copied already are reached through their own containers
+            return;
+        }
+        CopyPlan plan = CopyPlan.of( copy.getClass() );
+        switch (plan.getKind()){
+            case OBJECT: {
+                FieldAccessor[] fields = plan.getFields();
+                boolean[] shared = plan.getSharedFields();
+                for(int i=0; i< fields.length; ++i){
+                    Object child = shared[i]? null: fields[i].get( copy );
+                    if(child != null){
+                        stack.push( child, null, null );
+                    }
+                }
+                break;
+            }
+            case ARRAY:
+                pushAll( (Object[]) copy, stack );
+                break;
+            case COLLECTION:
+                pushAll( ((Collection<?>) copy).toArray(), stack );
+                break;
+            default:
+                //shared and flat values hold no copy, sets and maps not queued are complete already
+                break;
+        }
+    }
+
+
+
+    /**
+     * Stack of (first, second, third) frames kept in a single array, popping a frame loads it into the
+     * first/second/third fields so walking the graph allocates no task objects
+     */
+    static final class WorkStack {
+
+        private Object[] frames = new Object[3 * 64];
+        private int top;
+
+        Object first;
+        Object second;
+        Object third;
+
+        //copy-on-write copies only, containers reached through fields become views of it
+        CopyOnWriteSnapshot snapshot;
+
+        boolean isEmpty(){
+            return top == 0;
+        }
+
+        void push(Object a, Object b, Object c){
+            if(top + 3 > frames.length){
+                Object[] grown = new Object[frames.length << 1];
+                System.arraycopy(frames, 0, grown, 0, top);
+                frames = grown;
+            }
+            frames[top++] = a;
+            frames[top++] = b;
+            frames[top++] = c;
+        }
+
+        void pop(){
+            third  = frames[--top];
+            second = frames[--top];
+            first  = frames[--top];
+            frames[top] = frames[top+1] = frames[top+2] = null;
+        }
+    }
+}
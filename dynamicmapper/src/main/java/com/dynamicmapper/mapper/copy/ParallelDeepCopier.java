@@ -0,0 +1,202 @@
+package com.dynamicmapper.mapper.copy;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Deep copy engine spreading large containers across a {@link ForkJoinPool}.
+ *
+ * The graph is walked as {@link IterativeDeepCopier} does, but when an array, collection or map holding more than
+ * threshold elements has to be filled its elements are copied by parallel sub-tasks, each one draining its own work
+ * stack, so everything reachable from them is copied in parallel too. Lists and arrays keep their order.
+ *
+ * All tasks share a concurrent identity registry, so shared objects are still copied once and cycles kept.
+ * An object reached from two tasks at once is filled by one of them only, so no task adds anything to a set or map:
+ * their fills are queued and run by the calling thread once every task is joined, inner containers first
+ */
+public final class ParallelDeepCopier implements DeepCopier {
+
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final int          threshold;
+
+
+    /**
+     * @param pool      pool running the sub-tasks
+     * @param threshold number of elements above which a container is copied in parallel
+     */
+    public ParallelDeepCopier(ForkJoinPool pool, int threshold) {
+        if(pool == null){
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        if(threshold <= 0){
+            throw new IllegalArgumentException(String.format("Parallel copy threshold must be positive: %d", threshold));
+        }
+        this.pool      = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public <T> T copy(T source) {
+        if(source == null){
+            return null;
+        }
+        CopyRegistry registry = new ConcurrentCopyRegistry( threshold );
+        Queue<Object[]> hashedFills = new ConcurrentLinkedQueue<>();
+        T copy = (T) pool.invoke( new RootTask(source, registry, threshold, hashedFills) );
+        //Joining the root task publishes every copy made by the pool threads
+        IterativeDeepCopier.runHashedFills( hashedFills );
+        return copy;
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    /**
+     * Run the stack tasks, large containers are handed to parallel sub-tasks
+     */
+    private static void drain(IterativeDeepCopier.WorkStack stack, CopyRegistry registry, int threshold,
+                              Queue<Object[]> hashedFills){
+        while( !stack.isEmpty() ){
+            stack.pop();
+            Object first  = stack.first;
+            Object second = stack.second;
+            Object third  = stack.third;
+            if(third == IterativeDeepCopier.ADD_ELEMENTS || third == IterativeDeepCopier.PUT_ENTRIES){
+                hashedFills.add( new Object[]{ first, second, third } );
+            }else if( third instanceof CopyPlan && sizeOf(first, (CopyPlan) third) > threshold ){
+                fillInParallel(first, second, (CopyPlan) third, registry, threshold, hashedFills);
+            }else{
+                IterativeDeepCopier.run(first, second, third, registry, stack);
+            }
+        }
+    }
+
+    private static int sizeOf(Object source, CopyPlan plan){
+        switch (plan.getKind()){
+            case ARRAY:
+                return ((Object[]) source).length;
+            case COLLECTION:
+            case HASHED_COLLECTION:
+                return ((Collection<?>) source).size();
+            case MAP:
+                return ((Map<?, ?>) source).size();
+            default:
+                return 0;
+        }
+    }
+
+    private static void fillInParallel(Object source, Object copy, CopyPlan plan, CopyRegistry registry, int threshold,
+                                       Queue<Object[]> hashedFills){
+
+        switch (plan.getKind()){
+            case ARRAY: {
+                Object[] src = (Object[]) source;
+                new RangeTask(src, (Object[]) copy, 0, src.length, registry, threshold, hashedFills).invoke();
+                break;
+            }
+            case COLLECTION: {
+                Object[] src = ((Collection<?>) source).toArray();
+                Object[] elements = new Object[src.length];
+                new RangeTask(src, elements, 0, src.length, registry, threshold, hashedFills).invoke();
+                Collection<Object> dst = (Collection<Object>) copy;
+                for(Object curr: elements){
+                    dst.add( curr );
+                }
+                break;
+            }
+            case HASHED_COLLECTION: {
+                //An element shared with another task might still be filled by it, the set is filled after the join
+                Object[] src = ((Collection<?>) source).toArray();
+                Object[] elements = new Object[src.length];
+                new RangeTask(src, elements, 0, src.length, registry, threshold, hashedFills).invoke();
+                hashedFills.add( new Object[]{ copy, elements, IterativeDeepCopier.ADD_ELEMENTS } );
+                break;
+            }
+            case MAP: {
+                Map<?, ?> srcMap = (Map<?, ?>) source;
+                Object[] src = new Object[srcMap.size() << 1];
+                int idx = 0;
+                for(Map.Entry<?, ?> curr: srcMap.entrySet()){
+                    src[idx++] = curr.getKey();
+                    src[idx++] = curr.getValue();
+                }
+                Object[] entries = new Object[src.length];
+                new RangeTask(src, entries, 0, src.length, registry, threshold, hashedFills).invoke();
+                hashedFills.add( new Object[]{ copy, entries, IterativeDeepCopier.PUT_ENTRIES } );
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static final class RootTask extends RecursiveTask<Object> {
+
+        private final Object          source;
+        private final CopyRegistry    registry;
+        private final int             threshold;
+        private final Queue<Object[]> hashedFills;
+
+        RootTask(Object source, CopyRegistry registry, int threshold, Queue<Object[]> hashedFills) {
+            this.source      = source;
+            this.registry    = registry;
+            this.threshold   = threshold;
+            this.hashedFills = hashedFills;
+        }
+
+        @Override
+        protected Object compute() {
+            IterativeDeepCopier.WorkStack stack = new IterativeDeepCopier.WorkStack();
+            Object copy = IterativeDeepCopier.copyOf(source, registry, stack);
+            drain(stack, registry, threshold, hashedFills);
+            return copy;
+        }
+    }
+
+    /**
+     * Copy src elements within [from, to) into the same slots of dst, along with everything reachable from them
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final Object[]        src;
+        private final Object[]        dst;
+        private final int             from;
+        private final int             to;
+        private final CopyRegistry    registry;
+        private final int             threshold;
+        private final Queue<Object[]> hashedFills;
+
+        RangeTask(Object[] src, Object[] dst, int from, int to, CopyRegistry registry, int threshold,
+                  Queue<Object[]> hashedFills) {
+            this.src         = src;
+            this.dst         = dst;
+            this.from        = from;
+            this.to          = to;
+            this.registry    = registry;
+            this.threshold   = threshold;
+            this.hashedFills = hashedFills;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from > threshold){
+                int middle = (from + to) >>> 1;
+                invokeAll( new RangeTask(src, dst, from, middle, registry, threshold, hashedFills),
+                           new RangeTask(src, dst, middle, to, registry, threshold, hashedFills) );
+                return;
+            }
+            IterativeDeepCopier.WorkStack stack = new IterativeDeepCopier.WorkStack();
+            for(int i=from; i< to; ++i){
+                dst[i] = IterativeDeepCopier.copyOf( src[i], registry, stack );
+            }
+            drain(stack, registry, threshold, hashedFills);
+        }
+    }
+}
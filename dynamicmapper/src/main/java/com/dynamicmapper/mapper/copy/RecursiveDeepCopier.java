@@ -0,0 +1,124 @@
+package com.dynamicmapper.mapper.copy;
+
+import com.dynamicmapper.commons.CollectionFactory;
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.exceptions.DeepCopyTypesMissMatchException;
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.access.FieldAccessor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+
+import static com.dynamicmapper.commons.ReflectionUtils.*;
+
+/**
+ * The original deep copy engine, recursing once per nested object, collection element and array slot.
+ *
+ * Only an object referencing itself is detected, other cycles and very deep graphs overflow the stack: it is kept
+ * as the baseline {@link IterativeDeepCopier} is measured against
+ */
+public final class RecursiveDeepCopier implements DeepCopier {
+
+
+    private static final RecursiveDeepCopier instance = new RecursiveDeepCopier();
+
+
+    private RecursiveDeepCopier(){
+    }
+
+    public static RecursiveDeepCopier getInstance(){
+        return instance;
+    }
+
+    @Override
+    public <T> T copy(T source) {
+        return source == null? null: (T) recursiveReflectiveDeepCopy(source, source.getClass());
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    /**
+     *  Deep copy the object given in parameters
+     *  if at some point come across with a property of immutable class from JDK the reference only will be copied
+     *  this copy doesn't recompute objects fields during the process, a cache is used to lookup the fields
+     *  so the performance might increase meaningfully
+     *
+     *
+     * @param srcObj
+     * @param dstClazz
+     * @param <S>
+     * @param <D>
+     * @return
+     * @throws DeepCopyTypesMissMatchException
+     */
+    private static <S,D> D recursiveReflectiveDeepCopy(S srcObj, Class<D> dstClazz ) throws DeepCopyTypesMissMatchException {
+
+            if(srcObj == null){
+                return null;
+            }
+            if( objectClassIsAwellKnownImmutableClassFromJDK( srcObj ) ){
+                return (D) srcObj;
+            }
+            Object clone;
+            Class objClazz = dstClazz;
+            //ARRAY TYPES
+            if( srcObj.getClass().isArray() ){
+                clone = Array.newInstance( srcObj.getClass().getComponentType(), Array.getLength(srcObj) );
+                for(int i=0; i< Array.getLength(srcObj); ++i){
+                    Object arrElement = Array.get(srcObj, i);
+                    Object arrElementClone = recursiveReflectiveDeepCopy( arrElement, srcObj.getClass().getComponentType() );
+                    Array.set(clone, i, arrElementClone);
+                }
+            }
+            //COLLECTION TYPES
+            else if( Collection.class.isAssignableFrom( srcObj.getClass() ) ){
+                Collection<?> collection = (Collection<?>) srcObj;
+                Collection temp = (Collection<?>) CollectionFactory.newInstance( srcObj, collection.size() );
+                for(Object curr: collection){
+                    Object currCloned = recursiveReflectiveDeepCopy( curr, curr.getClass() );
+                    temp.add( currCloned );
+                }
+                clone = temp;
+                objClazz = null;
+            }
+            else if( Map.class.isAssignableFrom( srcObj.getClass() ) ){
+                Map<?,?> srcMap  = (Map<?, ?>) srcObj;
+                Map hashMap = CollectionFactory.newInstance( srcObj, srcMap.size() );
+                for(Map.Entry currEntry: srcMap.entrySet()){
+                    Object srcMapKey    = recursiveReflectiveDeepCopy(currEntry.getKey(),
+                            currEntry.getKey().getClass()  );
+                    Object srcMapValue  = recursiveReflectiveDeepCopy(currEntry.getValue(),
+                            currEntry.getValue().getClass());
+                    hashMap.put(srcMapKey, srcMapValue);
+                }
+                clone = hashMap;
+                objClazz = null;
+            }
+            else {
+                clone = Enum.class.isAssignableFrom(dstClazz)? srcObj: newInstanceOf( dstClazz );
+            }
+            //Case: We want assure we are copying objects from the same class so...
+            if(srcObj.getClass() == dstClazz){
+                for (Field field : ReflectionUtils.getClazzFieldsAlongTheHierarchy( objClazz )) {
+                    FieldAccessor accessor = Accessors.fieldAccessorOf( field );
+                    Object childObj = accessor.get( srcObj );
+                    if( childObj == null || Modifier.isFinal(field.getModifiers()) ){
+                        continue;
+                    }
+                    //WE DON'T WANT DEEP COPYING IMMUTABLE OBJECTS
+                    if( fieldTypeIsAwellKnownImmutableClazzFromJDK( field ) ){
+                        accessor.set(clone, childObj);
+                    }
+                    else if(childObj == srcObj){
+                        accessor.set(clone, clone);
+                    }else{
+                        accessor.set(clone, recursiveReflectiveDeepCopy(childObj, field.getType()));
+                    }
+                }
+            }
+            return (D) clone;
+    }
+}
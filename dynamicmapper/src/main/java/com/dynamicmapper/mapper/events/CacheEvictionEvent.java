@@ -0,0 +1,23 @@
+package com.dynamicmapper.mapper.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(MapperEvents.CACHE_EVICTION_EVENT)
+@Label("Mapper Cache Eviction")
+@Category(MapperEvents.CATEGORY)
+@Description("An entry dropped from a full mapper cache, many of them point to a capacity too small for the working set")
+@StackTrace(false)
+final class CacheEvictionEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Entry")
+    @Description("The evicted key: a class, a field or a source -> destination pair")
+    String entry;
+}
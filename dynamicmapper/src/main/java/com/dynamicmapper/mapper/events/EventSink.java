@@ -0,0 +1,19 @@
+package com.dynamicmapper.mapper.events;
+
+import com.dynamicmapper.commons.ConcurrentLRUCache;
+
+/**
+ * Where {@link MapperEvents} sends its events, kept apart so nothing from jdk.jfr is linked unless it is there
+ */
+interface EventSink {
+
+    Object beginCall();
+
+    void endCall(Object token, String operation, Class<?> sourceClazz, Class<?> destinationClazz, long objectCount);
+
+    Object beginPlanBuild();
+
+    void endPlanBuild(Object token, Class<?> sourceClazz, Class<?> destinationClazz, int propertyCount);
+
+    ConcurrentLRUCache.EvictionListener<Object, Object> evictionListenerOf(String cacheName);
+}
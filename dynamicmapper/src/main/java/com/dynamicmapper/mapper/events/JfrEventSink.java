@@ -0,0 +1,80 @@
+package com.dynamicmapper.mapper.events;
+
+import com.dynamicmapper.commons.ConcurrentLRUCache;
+
+/**
+ * Emits JDK Flight Recorder events, only loaded when jdk.jfr is there. Events are only allocated while a recording
+ * has them enabled, otherwise begin methods cost an {@link jdk.jfr.Event#isEnabled()} check
+ */
+final class JfrEventSink implements EventSink {
+
+
+    //Never committed, only asked whether the event type is enabled
+    private final SlowCallEvent      slowCallProbe      = new SlowCallEvent();
+    private final PlanBuiltEvent     planBuiltProbe     = new PlanBuiltEvent();
+    private final CacheEvictionEvent cacheEvictionProbe = new CacheEvictionEvent();
+
+
+    @Override
+    public Object beginCall() {
+        if( !slowCallProbe.isEnabled() ){
+            return null;
+        }
+        SlowCallEvent event = new SlowCallEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endCall(Object token, String operation, Class<?> sourceClazz, Class<?> destinationClazz, long objectCount) {
+        SlowCallEvent event = (SlowCallEvent) token;
+        event.end();
+        if( event.shouldCommit() ){
+            event.operation        = operation;
+            event.sourceClass      = sourceClazz;
+            event.destinationClass = destinationClazz;
+            event.objectCount      = objectCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginPlanBuild() {
+        if( !planBuiltProbe.isEnabled() ){
+            return null;
+        }
+        PlanBuiltEvent event = new PlanBuiltEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endPlanBuild(Object token, Class<?> sourceClazz, Class<?> destinationClazz, int propertyCount) {
+        PlanBuiltEvent event = (PlanBuiltEvent) token;
+        event.end();
+        if( event.shouldCommit() ){
+            event.sourceClass      = sourceClazz;
+            event.destinationClass = destinationClazz;
+            event.propertyCount    = propertyCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public ConcurrentLRUCache.EvictionListener<Object, Object> evictionListenerOf(final String cacheName) {
+        return new ConcurrentLRUCache.EvictionListener<Object, Object>() {
+            @Override
+            public void evicted(Object key, Object value) {
+                if( !cacheEvictionProbe.isEnabled() ){
+                    return;
+                }
+                CacheEvictionEvent event = new CacheEvictionEvent();
+                if( event.shouldCommit() ){
+                    event.cache = cacheName;
+                    event.entry = String.valueOf(key);
+                    event.commit();
+                }
+            }
+        };
+    }
+}
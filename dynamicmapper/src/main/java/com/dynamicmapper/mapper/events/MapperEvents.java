@@ -0,0 +1,136 @@
+package com.dynamicmapper.mapper.events;
+
+import com.dynamicmapper.commons.ClassMetadataRegistry;
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.metrics.MapperMetrics;
+import com.dynamicmapper.mapper.plan.MappingPlanCache;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * JDK Flight Recorder events of the mapper, so latency spikes in a recording can be tied to plans being built
+ * or caches thrashing:
+ * <ul>
+ *     <li>{@value #PLAN_BUILT_EVENT}: a mapping plan was built, with its pair and how long it took</li>
+ *     <li>{@value #CACHE_EVICTION_EVENT}: an entry was evicted from the class metadata, field accessor or plan cache</li>
+ *     <li>{@value #SLOW_CALL_EVENT}: a map, mapList or deepCopyOf call took longer than the event threshold, 10ms
+ *     unless the recording settings say otherwise, e.g: <tt>&lt;setting name="threshold"&gt;50 ms&lt;/setting&gt;</tt>
+ *     in a .jfc file or <tt>recording.enable(MapperEvents.SLOW_CALL_EVENT).withThreshold(...)</tt></li>
+ * </ul>
+ *
+ * Nothing here links against jdk.jfr: the events are emitted by a sink loaded reflectively, so on a JVM without
+ * it, or with -D{@value #ENABLED_PROPERTY}=false, every method is a no-op. Begin methods return a token, null
+ * when the event is not recorded, to give back to the matching end method
+ */
+public final class MapperEvents {
+
+
+    public static final String ENABLED_PROPERTY = "dynamicmapper.jfr.enabled";
+
+    public static final String CATEGORY             = "DynamicMapper";
+    public static final String SLOW_CALL_EVENT      = "com.dynamicmapper.SlowCall";
+    public static final String PLAN_BUILT_EVENT     = "com.dynamicmapper.PlanBuilt";
+    public static final String CACHE_EVICTION_EVENT = "com.dynamicmapper.CacheEviction";
+
+    private static final EventSink sink = loadSink();
+
+    static {
+        if(sink != null){
+            ClassMetadataRegistry.getInstance().setEvictionListener( sink.evictionListenerOf(MapperMetrics.CLASS_METADATA_CACHE) );
+            Accessors.setFieldAccessorCacheEvictionListener( sink.evictionListenerOf(MapperMetrics.FIELD_ACCESSOR_CACHE) );
+            MappingPlanCache.setEvictionListener( sink.evictionListenerOf(MapperMetrics.MAPPING_PLAN_CACHE) );
+        }
+    }
+
+
+    private MapperEvents(){
+    }
+
+    /**
+     * @return <tt>true</tt> if events are sent to the flight recorder
+     */
+    public static boolean isAvailable(){
+        return sink != null;
+    }
+
+    /**
+     * Start timing a public mapping or copy call
+     *
+     * @return the token to give to {@link #endCall(Object, String, Class, Class, long)}, or null
+     */
+    public static Object beginCall(){
+        return sink != null? sink.beginCall(): null;
+    }
+
+    /**
+     * Emit the slow call event of token if the call went past the threshold
+     *
+     * @param token            from {@link #beginCall()}, nothing is done when null
+     * @param operation        e.g: map, mapList, deepCopyOf
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param objectCount
+     */
+    public static void endCall(Object token, String operation, Class<?> sourceClazz, Class<?> destinationClazz, long objectCount){
+        if(token != null){
+            sink.endCall(token, operation, sourceClazz, destinationClazz, objectCount);
+        }
+    }
+
+    /**
+     * Objects count of a deep copy of obj, its elements when it is a container
+     */
+    public static long objectCountOf(Object obj){
+        if(obj == null){
+            return 0;
+        }
+        if(obj instanceof Collection){
+            return ((Collection<?>) obj).size();
+        }
+        if(obj instanceof Map){
+            return ((Map<?, ?>) obj).size();
+        }
+        return obj.getClass().isArray()? Array.getLength(obj): 1;
+    }
+
+    /**
+     * Start timing a plan build
+     *
+     * @return the token to give to {@link #endPlanBuild(Object, Class, Class, int)}, or null
+     */
+    public static Object beginPlanBuild(){
+        return sink != null? sink.beginPlanBuild(): null;
+    }
+
+    /**
+     * Emit the plan built event of token
+     *
+     * @param token            from {@link #beginPlanBuild()}, nothing is done when null
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param propertyCount    properties the plan maps
+     */
+    public static void endPlanBuild(Object token, Class<?> sourceClazz, Class<?> destinationClazz, int propertyCount){
+        if(token != null){
+            sink.endPlanBuild(token, sourceClazz, destinationClazz, propertyCount);
+        }
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static EventSink loadSink(){
+        if( "false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY)) ){
+            return null;
+        }
+        try {
+            Class.forName("jdk.jfr.Event", false, MapperEvents.class.getClassLoader());
+            return (EventSink) Class.forName(MapperEvents.class.getPackage().getName() + ".JfrEventSink")
+                    .getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            //No flight recorder in this JVM
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dynamicmapper.mapper.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(MapperEvents.PLAN_BUILT_EVENT)
+@Label("Mapping Plan Built")
+@Category(MapperEvents.CATEGORY)
+@Description("Introspection of a (source class, destination class) pair, paid on its first mapping and after its plan was evicted")
+@StackTrace(false)
+final class PlanBuiltEvent extends Event {
+
+    @Label("Source Class")
+    Class<?> sourceClass;
+
+    @Label("Destination Class")
+    Class<?> destinationClass;
+
+    @Label("Property Count")
+    int propertyCount;
+}
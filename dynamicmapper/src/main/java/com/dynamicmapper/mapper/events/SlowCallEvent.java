@@ -0,0 +1,31 @@
+package com.dynamicmapper.mapper.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(MapperEvents.SLOW_CALL_EVENT)
+@Label("Slow Mapping")
+@Category(MapperEvents.CATEGORY)
+@Description("A map, mapList or deepCopyOf call which took longer than the event threshold")
+@Threshold("10 ms")
+@StackTrace(true)
+final class SlowCallEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Source Class")
+    Class<?> sourceClass;
+
+    @Label("Destination Class")
+    Class<?> destinationClass;
+
+    @Label("Object Count")
+    @Description("Objects mapped, nested ones included; for deep copies the elements of the copied container, or 1")
+    long objectCount;
+}
@@ -0,0 +1,273 @@
+package com.dynamicmapper.mapper.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tiny class file emitter, just enough for straight-line methods (no branches, so no stack map frames)
+ *
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html">JVMS chapter 4</a>
+ */
+final class ClassFileWriter {
+
+
+    static final int ACC_PUBLIC     = 0x0001;
+    static final int ACC_PRIVATE    = 0x0002;
+    static final int ACC_FINAL      = 0x0010;
+    static final int ACC_SUPER      = 0x0020;
+
+    static final int ALOAD_0        = 0x2a;
+    static final int ALOAD_1        = 0x2b;
+    static final int ALOAD_2        = 0x2c;
+    static final int ALOAD_3        = 0x2d;
+    static final int ALOAD          = 0x19;
+    static final int SIPUSH         = 0x11;
+    static final int ASTORE_3       = 0x4e;
+    static final int ASTORE         = 0x3a;
+    static final int ARETURN        = 0xb0;
+    static final int RETURN         = 0xb1;
+    static final int GETFIELD       = 0xb4;
+    static final int PUTFIELD       = 0xb5;
+    static final int INVOKEVIRTUAL  = 0xb6;
+    static final int INVOKESPECIAL  = 0xb7;
+    static final int INVOKESTATIC   = 0xb8;
+    static final int CHECKCAST      = 0xc0;
+
+    private static final int JAVA_8_CLASS_VERSION = 52;
+
+    private static final int CONSTANT_UTF8          = 1;
+    private static final int CONSTANT_CLASS         = 7;
+    private static final int CONSTANT_FIELDREF      = 9;
+    private static final int CONSTANT_METHODREF     = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream constantPoolBytes   = new ByteArrayOutputStream();
+    private final DataOutputStream      constantPool        = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer>  constantPoolIndexes = new HashMap<>();
+    private int constantPoolCount = 1;
+
+    private final List<byte[]> fields  = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+
+
+    /**
+     * @param internalName  e.g. com/dynamicmapper/Foo
+     * @param superName     internal name of the super class
+     * @param interfaceNames internal names of implemented interfaces
+     */
+    ClassFileWriter(String internalName, String superName, String... interfaceNames) {
+        this.thisClass  = classConstant(internalName);
+        this.superClass = classConstant(superName);
+        this.interfaces = new int[interfaceNames.length];
+        for(int i=0; i< interfaceNames.length; ++i){
+            interfaces[i] = classConstant(interfaceNames[i]);
+        }
+    }
+
+    int classConstant(String internalName){
+        Integer idx = constantPoolIndexes.get("C" + internalName);
+        if(idx == null){
+            int nameIdx = utf8Constant(internalName);
+            idx = newConstant("C" + internalName);
+            write(CONSTANT_CLASS);
+            writeShort(nameIdx);
+        }
+        return idx;
+    }
+
+    int methodConstant(String ownerInternalName, String name, String descriptor){
+        String key = "M" + ownerInternalName + "." + name + descriptor;
+        Integer idx = constantPoolIndexes.get(key);
+        if(idx == null){
+            int ownerIdx = classConstant(ownerInternalName);
+            int nameAndTypeIdx = nameAndTypeConstant(name, descriptor);
+            idx = newConstant(key);
+            write(CONSTANT_METHODREF);
+            writeShort(ownerIdx);
+            writeShort(nameAndTypeIdx);
+        }
+        return idx;
+    }
+
+    int fieldConstant(String ownerInternalName, String name, String descriptor){
+        String key = "F" + ownerInternalName + "." + name + ":" + descriptor;
+        Integer idx = constantPoolIndexes.get(key);
+        if(idx == null){
+            int ownerIdx = classConstant(ownerInternalName);
+            int nameAndTypeIdx = nameAndTypeConstant(name, descriptor);
+            idx = newConstant(key);
+            write(CONSTANT_FIELDREF);
+            writeShort(ownerIdx);
+            writeShort(nameAndTypeIdx);
+        }
+        return idx;
+    }
+
+    /**
+     * Append a field, without initial value
+     *
+     * @param accessFlags
+     * @param name
+     * @param descriptor
+     */
+    void addField(int accessFlags, String name, String descriptor){
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeShort(accessFlags);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(0);                         //attributes_count
+            fields.add(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Append a method whose body is the given straight-line bytecode
+     *
+     * @param accessFlags
+     * @param name
+     * @param descriptor
+     * @param code      the bytecode, it must not contain branches nor exception handlers
+     * @param maxStack
+     * @param maxLocals
+     */
+    void addMethod(int accessFlags, String name, String descriptor, byte[] code, int maxStack, int maxLocals){
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeShort(accessFlags);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(1);                         //attributes_count
+            out.writeShort(utf8Constant("Code"));
+            out.writeInt(12 + code.length);            //attribute_length
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);                         //exception_table_length
+            out.writeShort(0);                         //attributes_count
+            methods.add(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    byte[] toByteArray(int accessFlags){
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(JAVA_8_CLASS_VERSION);
+            out.writeShort(constantPoolCount);
+            constantPool.flush();
+            constantPoolBytes.writeTo(out);
+            out.writeShort(accessFlags);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for(int curr: interfaces){
+                out.writeShort(curr);
+            }
+            out.writeShort(fields.size());
+            for(byte[] curr: fields){
+                out.write(curr);
+            }
+            out.writeShort(methods.size());
+            for(byte[] curr: methods){
+                out.write(curr);
+            }
+            out.writeShort(0);                         //attributes_count
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String internalNameOf(Class<?> clazz){
+        return clazz.getName().replace('.', '/');
+    }
+
+    static String descriptorOf(Class<?> type){
+        if( type.isArray() ){
+            return type.getName().replace('.', '/');
+        }
+        if( type.isPrimitive() ){
+            if(type == int.class)       return "I";
+            if(type == long.class)      return "J";
+            if(type == boolean.class)   return "Z";
+            if(type == double.class)    return "D";
+            if(type == float.class)     return "F";
+            if(type == char.class)      return "C";
+            if(type == short.class)     return "S";
+            if(type == byte.class)      return "B";
+            return "V";
+        }
+        return "L" + internalNameOf(type) + ";";
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private int utf8Constant(String value){
+        Integer idx = constantPoolIndexes.get("U" + value);
+        if(idx == null){
+            idx = newConstant("U" + value);
+            try {
+                constantPool.writeByte(CONSTANT_UTF8);
+                constantPool.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return idx;
+    }
+
+    private int nameAndTypeConstant(String name, String descriptor){
+        String key = "N" + name + descriptor;
+        Integer idx = constantPoolIndexes.get(key);
+        if(idx == null){
+            int nameIdx = utf8Constant(name);
+            int descriptorIdx = utf8Constant(descriptor);
+            idx = newConstant(key);
+            write(CONSTANT_NAME_AND_TYPE);
+            writeShort(nameIdx);
+            writeShort(descriptorIdx);
+        }
+        return idx;
+    }
+
+    private int newConstant(String key){
+        int idx = constantPoolCount++;
+        constantPoolIndexes.put(key, idx);
+        return idx;
+    }
+
+    private void write(int value){
+        try {
+            constantPool.writeByte(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeShort(int value){
+        try {
+            constantPool.writeShort(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
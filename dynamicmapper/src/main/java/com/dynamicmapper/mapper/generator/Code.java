@@ -0,0 +1,31 @@
+package com.dynamicmapper.mapper.generator;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Bytecode buffer
+ */
+final class Code {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    Code op(int opcode){
+        bytes.write(opcode);
+        return this;
+    }
+
+    Code u1(int value){
+        bytes.write(value);
+        return this;
+    }
+
+    Code u2(int value){
+        bytes.write(value >>> 8);
+        bytes.write(value);
+        return this;
+    }
+
+    byte[] toByteArray(){
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dynamicmapper.mapper.generator;
+
+/**
+ * Defining class loader for generated mappers, one per generated class so it can be unloaded with its mapper.
+ *
+ * It is a child of the destination class loader, generated code must be able to link against the source class,
+ * the destination class and the {@link com.dynamicmapper.mapper.Mapper} interface through it.
+ */
+final class GeneratedClassLoader extends ClassLoader {
+
+
+    GeneratedClassLoader(ClassLoader parent) {
+        super(parent != null? parent: GeneratedClassLoader.class.getClassLoader());
+    }
+
+    Class<?> define(String className, byte[] bytecode){
+        return defineClass(className, bytecode, 0, bytecode.length);
+    }
+
+    /**
+     * @param clazz
+     * @return true if clazz resolves to the very same class through this loader
+     */
+    boolean canSee(Class<?> clazz){
+        try {
+            return Class.forName(clazz.getName(), false, this) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
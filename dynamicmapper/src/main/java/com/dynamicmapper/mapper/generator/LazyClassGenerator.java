@@ -0,0 +1,189 @@
+package com.dynamicmapper.mapper.generator;
+
+import com.dynamicmapper.mapper.LazyLoaded;
+import com.dynamicmapper.mapper.LazyState;
+import com.dynamicmapper.mapper.LazySupport;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.dynamicmapper.mapper.generator.ClassFileWriter.descriptorOf;
+import static com.dynamicmapper.mapper.generator.ClassFileWriter.internalNameOf;
+
+/**
+ * Emit, at runtime, a subclass of a destination class whose properties are loaded on first read: the getter of
+ * the i-th lazy property becomes
+ * <pre>
+ *     public T getX(){ LazySupport.load(this.lazyState, i); return super.getX(); }
+ * </pre>
+ * and its setter, if any, drops the pending value before writing the new one. The subclass implements
+ * {@link LazyLoaded} so the mapper hands it its {@link LazyState} once built. Everything that decides is in
+ * {@link LazySupport}, so the generated code has no branches.
+ */
+public final class LazyClassGenerator {
+
+
+    private static final String LAZY_STATE_FIELD = "lazyState";
+
+    private static final String GENERATED_PACKAGE = internalNameOf(LazyClassGenerator.class)
+            .substring(0, internalNameOf(LazyClassGenerator.class).lastIndexOf('/') + 1);
+
+    private static final AtomicLong generatedCount = new AtomicLong();
+
+
+    private LazyClassGenerator(){
+    }
+
+    /**
+     * Check if the destination class can be subclassed by generated code: a public, non final, concrete class
+     * with a public or protected no-arg constructor
+     *
+     * @param destinationClazz
+     * @return
+     */
+    public static boolean supports(Class<?> destinationClazz){
+        int modifiers = destinationClazz.getModifiers();
+        if( !Modifier.isPublic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isAbstract(modifiers)
+                || destinationClazz.isInterface() || destinationClazz.isArray() || destinationClazz.isPrimitive()
+                || (destinationClazz.isMemberClass() && !Modifier.isStatic(modifiers)) ){
+            return false;
+        }
+        try {
+            Constructor<?> c = destinationClazz.getDeclaredConstructor();
+            return Modifier.isPublic(c.getModifiers()) || Modifier.isProtected(c.getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lookup the getter generated code overrides for field
+     *
+     * @param destinationClazz
+     * @param field
+     * @return a public, non final <tt>T getX()</tt> method returning exactly the field type, or null
+     */
+    public static Method getterOf(Class<?> destinationClazz, Field field){
+        Method getter = overridableMethod(destinationClazz, "get" + capitalized(field.getName()));
+        return getter != null && getter.getReturnType() == field.getType()? getter: null;
+    }
+
+    /**
+     * Lookup the setter generated code overrides for field
+     *
+     * @param destinationClazz
+     * @param field
+     * @return a public <tt>void setX(T)</tt> method or null, final ones included: callers must not make the
+     * property lazy when its setter cannot be overridden
+     */
+    public static Method setterOf(Class<?> destinationClazz, Field field){
+        try {
+            Method setter = destinationClazz.getMethod("set" + capitalized(field.getName()), field.getType());
+            return setter.getReturnType() == void.class && !Modifier.isStatic(setter.getModifiers())? setter: null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Generate the lazy subclass of destinationClazz
+     *
+     * @param destinationClazz a class {@link #supports(Class)} accepts
+     * @param getters          getter of each lazy property, its index is the property slot
+     * @param setters          setter of each lazy property, null entries when there is none
+     * @return the subclass or <tt>null</tt> when it cannot be generated or loaded, callers should then map
+     * destinationClazz eagerly
+     */
+    public static <D> Class<? extends D> generate(Class<D> destinationClazz, List<Method> getters, List<Method> setters){
+        try {
+            GeneratedClassLoader loader = new GeneratedClassLoader(destinationClazz.getClassLoader());
+            if( !loader.canSee(LazySupport.class) || !loader.canSee(destinationClazz) ){
+                return null;
+            }
+            String className = GENERATED_PACKAGE + "Lazy$" + destinationClazz.getSimpleName() + "$"
+                    + generatedCount.incrementAndGet();
+            byte[] bytecode = emit(className, destinationClazz, getters, setters);
+            return (Class<? extends D>) loader.define(className.replace('/', '.'), bytecode);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static byte[] emit(String className, Class<?> destinationClazz, List<Method> getters, List<Method> setters){
+
+        String dstName = internalNameOf(destinationClazz);
+        String stateDescriptor = descriptorOf(LazyState.class);
+        ClassFileWriter cw = new ClassFileWriter(className, dstName, internalNameOf(LazyLoaded.class));
+        cw.addField(ClassFileWriter.ACC_PRIVATE, LAZY_STATE_FIELD, stateDescriptor);
+        int stateField = cw.fieldConstant(className, LAZY_STATE_FIELD, stateDescriptor);
+
+        //public <init>(){ super(); }
+        cw.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", new Code()
+                .op(ClassFileWriter.ALOAD_0)
+                .op(ClassFileWriter.INVOKESPECIAL).u2(cw.methodConstant(dstName, "<init>", "()V"))
+                .op(ClassFileWriter.RETURN)
+                .toByteArray(), 1, 1);
+
+        //public void initLazyState(LazyState state){ this.lazyState = state; }
+        cw.addMethod(ClassFileWriter.ACC_PUBLIC, "initLazyState", "(" + stateDescriptor + ")V", new Code()
+                .op(ClassFileWriter.ALOAD_0)
+                .op(ClassFileWriter.ALOAD_1)
+                .op(ClassFileWriter.PUTFIELD).u2(stateField)
+                .op(ClassFileWriter.RETURN)
+                .toByteArray(), 2, 2);
+
+        int load    = cw.methodConstant(internalNameOf(LazySupport.class), "load", "(" + stateDescriptor + "I)V");
+        int discard = cw.methodConstant(internalNameOf(LazySupport.class), "discard", "(" + stateDescriptor + "I)V");
+        for(int slot=0; slot< getters.size(); ++slot){
+            Method getter = getters.get(slot);
+            String getterDescriptor = "()" + descriptorOf(getter.getReturnType());
+            cw.addMethod(ClassFileWriter.ACC_PUBLIC, getter.getName(), getterDescriptor, new Code()
+                    .op(ClassFileWriter.ALOAD_0)
+                    .op(ClassFileWriter.GETFIELD).u2(stateField)
+                    .op(ClassFileWriter.SIPUSH).u2(slot)
+                    .op(ClassFileWriter.INVOKESTATIC).u2(load)
+                    .op(ClassFileWriter.ALOAD_0)
+                    .op(ClassFileWriter.INVOKESPECIAL).u2(cw.methodConstant(dstName, getter.getName(), getterDescriptor))
+                    .op(ClassFileWriter.ARETURN)
+                    .toByteArray(), 2, 1);
+
+            Method setter = setters.get(slot);
+            if(setter == null){
+                continue;
+            }
+            String setterDescriptor = "(" + descriptorOf(setter.getParameterTypes()[0]) + ")V";
+            cw.addMethod(ClassFileWriter.ACC_PUBLIC, setter.getName(), setterDescriptor, new Code()
+                    .op(ClassFileWriter.ALOAD_0)
+                    .op(ClassFileWriter.GETFIELD).u2(stateField)
+                    .op(ClassFileWriter.SIPUSH).u2(slot)
+                    .op(ClassFileWriter.INVOKESTATIC).u2(discard)
+                    .op(ClassFileWriter.ALOAD_0)
+                    .op(ClassFileWriter.ALOAD_1)
+                    .op(ClassFileWriter.INVOKESPECIAL).u2(cw.methodConstant(dstName, setter.getName(), setterDescriptor))
+                    .op(ClassFileWriter.RETURN)
+                    .toByteArray(), 2, 2);
+        }
+        return cw.toByteArray(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER);
+    }
+
+    private static Method overridableMethod(Class<?> clazz, String name){
+        try {
+            Method method = clazz.getMethod(name);
+            int modifiers = method.getModifiers();
+            return Modifier.isFinal(modifiers) || Modifier.isStatic(modifiers)
+                    || method.getDeclaringClass() == Object.class? null: method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static String capitalized(String name){
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,150 @@
+package com.dynamicmapper.mapper.generator;
+
+import com.dynamicmapper.mapper.Mapper;
+import com.dynamicmapper.mapper.plan.CopyMode;
+import com.dynamicmapper.mapper.plan.PropertyMapping;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.dynamicmapper.mapper.generator.ClassFileWriter.descriptorOf;
+import static com.dynamicmapper.mapper.generator.ClassFileWriter.internalNameOf;
+
+/**
+ * Emit, at runtime, a concrete {@link Mapper} class for a (source class, destination class) pair whose body is
+ * straight-line <tt>dst.setX( src.getX() )</tt> code, so primitives are never boxed and nothing is looked up.
+ *
+ * Only properties whose value is shared as is ({@link CopyMode#ASSIGN}), read by a public getter returning
+ * exactly the field type and written by a public <tt>void setX(fieldType)</tt> setter are generated, the rest
+ * is left to the reflective engine. Generated classes are defined by their own {@link GeneratedClassLoader}.
+ *
+ * A generated class cannot reach private fields, so it goes through the setter where the reflective engine assigns
+ * the field: setters doing more than an assignment behave differently, see
+ * {@link com.dynamicmapper.mapper.access.EngineMode#GENERATED}
+ */
+public final class MapperClassGenerator {
+
+
+    private static final String OBJECT_INTERNAL_NAME = "java/lang/Object";
+    private static final String MAPPER_INTERNAL_NAME = internalNameOf(Mapper.class);
+    private static final String GENERATED_PACKAGE    = internalNameOf(MapperClassGenerator.class)
+            .substring(0, internalNameOf(MapperClassGenerator.class).lastIndexOf('/') + 1);
+
+    private static final AtomicLong generatedCount = new AtomicLong();
+
+
+    private MapperClassGenerator(){
+    }
+
+    /**
+     * Check if the given property can be copied by generated code
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param property
+     * @return
+     */
+    public static boolean supports(Class<?> sourceClazz, Class<?> destinationClazz, PropertyMapping property){
+
+        Method getter = property.getGetter();
+        return property.getCopyMode() == CopyMode.ASSIGN
+                && isPublic(sourceClazz) && isPublic(destinationClazz)
+                && getter != null && Modifier.isPublic(getter.getModifiers()) && !Modifier.isStatic(getter.getModifiers())
+                && getter.getReturnType() == property.getTargetType()
+                && setterOf(destinationClazz, property.getTarget()) != null;
+    }
+
+    /**
+     * Generate and instantiate the mapper copying the given properties
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param properties properties already checked with {@link #supports(Class, Class, PropertyMapping)}
+     * @return the mapper or <tt>null</tt> when the class cannot be generated or loaded, callers should then fall
+     * back to the reflective engine
+     */
+    public static <S, D> Mapper<S, D> generate(Class<S> sourceClazz, Class<D> destinationClazz,
+                                               List<PropertyMapping> properties){
+        try {
+            GeneratedClassLoader loader = new GeneratedClassLoader(destinationClazz.getClassLoader());
+            if( !loader.canSee(Mapper.class) || !loader.canSee(sourceClazz) || !loader.canSee(destinationClazz) ){
+                return null;
+            }
+            String className = GENERATED_PACKAGE + "Mapper$" + sourceClazz.getSimpleName() + "$"
+                    + destinationClazz.getSimpleName() + "$" + generatedCount.incrementAndGet();
+            byte[] bytecode = emit(className, sourceClazz, destinationClazz, properties);
+            Class<?> mapperClazz = loader.define(className.replace('/', '.'), bytecode);
+            return (Mapper<S, D>) mapperClazz.getConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static byte[] emit(String className, Class<?> sourceClazz, Class<?> destinationClazz,
+                               List<PropertyMapping> properties){
+
+        ClassFileWriter cw = new ClassFileWriter(className, OBJECT_INTERNAL_NAME, MAPPER_INTERNAL_NAME);
+        String srcName = internalNameOf(sourceClazz);
+        String dstName = internalNameOf(destinationClazz);
+
+        //public <init>(){ super(); }
+        int objectInit = cw.methodConstant(OBJECT_INTERNAL_NAME, "<init>", "()V");
+        cw.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", new Code()
+                .op(ClassFileWriter.ALOAD_0)
+                .op(ClassFileWriter.INVOKESPECIAL).u2(objectInit)
+                .op(ClassFileWriter.RETURN)
+                .toByteArray(), 1, 1);
+
+        //public void map(Object src, Object dst){ S s = (S) src; D d = (D) dst; d.setX( s.getX() ); ... }
+        Code code = new Code()
+                .op(ClassFileWriter.ALOAD_1)
+                .op(ClassFileWriter.CHECKCAST).u2(cw.classConstant(srcName))
+                .op(ClassFileWriter.ASTORE_3)
+                .op(ClassFileWriter.ALOAD_2)
+                .op(ClassFileWriter.CHECKCAST).u2(cw.classConstant(dstName))
+                .op(ClassFileWriter.ASTORE).u1(4);
+        for(PropertyMapping property: properties){
+            Method getter = property.getGetter();
+            Method setter = setterOf(destinationClazz, property.getTarget());
+            code.op(ClassFileWriter.ALOAD).u1(4)
+                .op(ClassFileWriter.ALOAD_3)
+                .op(ClassFileWriter.INVOKEVIRTUAL).u2(cw.methodConstant(srcName, getter.getName(),
+                        "()" + descriptorOf(getter.getReturnType())))
+                .op(ClassFileWriter.INVOKEVIRTUAL).u2(cw.methodConstant(dstName, setter.getName(),
+                        "(" + descriptorOf(property.getTargetType()) + ")V"));
+        }
+        code.op(ClassFileWriter.RETURN);
+        //dst, plus a long/double value takes two slots
+        cw.addMethod(ClassFileWriter.ACC_PUBLIC, "map", "(Ljava/lang/Object;Ljava/lang/Object;)V",
+                code.toByteArray(), 3, 5);
+
+        return cw.toByteArray(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER);
+    }
+
+    /**
+     * Lookup the JavaBeans setter of field on clazz
+     *
+     * @param clazz
+     * @param field
+     * @return a public <tt>void setX(fieldType)</tt> method or null
+     */
+    private static Method setterOf(Class<?> clazz, Field field){
+        String name = field.getName();
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            Method setter = clazz.getMethod(setterName, field.getType());
+            return setter.getReturnType() == void.class && !Modifier.isStatic(setter.getModifiers())? setter: null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isPublic(Class<?> clazz){
+        return Modifier.isPublic(clazz.getModifiers());
+    }
+}
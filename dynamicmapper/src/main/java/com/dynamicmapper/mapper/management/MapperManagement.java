@@ -0,0 +1,191 @@
+package com.dynamicmapper.mapper.management;
+
+import com.dynamicmapper.commons.ClassMetadataRegistry;
+import com.dynamicmapper.mapper.ModelMapper;
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.access.EngineMode;
+import com.dynamicmapper.mapper.copy.IterativeDeepCopier;
+import com.dynamicmapper.mapper.plan.MappingPlanCache;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The {@link MapperManagementMBean}, registered once per JVM under {@value #OBJECT_NAME} on the platform MBean
+ * server, e.g: at application startup
+ * <pre>
+ *     MapperManagement.register();
+ * </pre>
+ * then read and tuned from jconsole, VisualVM or any JMX client. Hit ratios are over the whole JVM lifetime
+ */
+public final class MapperManagement implements MapperManagementMBean {
+
+
+    public static final String OBJECT_NAME = "com.dynamicmapper:type=ModelMapper";
+
+
+    private MapperManagement(){
+    }
+
+    /**
+     * Register the MBean on the platform MBean server, registering it again does nothing
+     *
+     * @return the name it is registered under
+     */
+    public static synchronized ObjectName register(){
+        ObjectName name = objectName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if( !server.isRegistered(name) ){
+                server.registerMBean(new MapperManagement(), name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            //Registered by another class loader copy of this library, theirs stays
+        } catch (JMException e) {
+            throw new RuntimeException(String.format("Unable to register MBean %s", OBJECT_NAME), e);
+        }
+        return name;
+    }
+
+    /**
+     * Remove the MBean from the platform MBean server, if registered
+     */
+    public static synchronized void unregister(){
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean( objectName() );
+        } catch (InstanceNotFoundException e) {
+            //Not registered, nothing to do
+        } catch (JMException e) {
+            throw new RuntimeException(String.format("Unable to unregister MBean %s", OBJECT_NAME), e);
+        }
+    }
+
+    @Override
+    public int getClassMetadataCacheSize() {
+        return ClassMetadataRegistry.getInstance().size();
+    }
+
+    @Override
+    public int getClassMetadataCacheCapacity() {
+        return ClassMetadataRegistry.getInstance().getCapacity();
+    }
+
+    @Override
+    public void setClassMetadataCacheCapacity(int capacity) {
+        ClassMetadataRegistry.getInstance().setCapacity( capacity );
+    }
+
+    @Override
+    public double getClassMetadataCacheHitRatio() {
+        ClassMetadataRegistry registry = ClassMetadataRegistry.getInstance();
+        return hitRatio( registry.getHitCount(), registry.getMissCount() );
+    }
+
+    @Override
+    public long getClassMetadataCacheEvictionCount() {
+        return ClassMetadataRegistry.getInstance().getEvictionCount();
+    }
+
+    @Override
+    public int getFieldAccessorCacheSize() {
+        return Accessors.getFieldAccessorCacheSize();
+    }
+
+    @Override
+    public int getFieldAccessorCacheCapacity() {
+        return Accessors.getFieldAccessorCacheCapacity();
+    }
+
+    @Override
+    public void setFieldAccessorCacheCapacity(int capacity) {
+        Accessors.setFieldAccessorCacheCapacity( capacity );
+    }
+
+    @Override
+    public double getFieldAccessorCacheHitRatio() {
+        return hitRatio( Accessors.getFieldAccessorCacheHitCount(), Accessors.getFieldAccessorCacheMissCount() );
+    }
+
+    @Override
+    public long getFieldAccessorCacheEvictionCount() {
+        return Accessors.getFieldAccessorCacheEvictionCount();
+    }
+
+    @Override
+    public int getPlanCacheSize() {
+        return MappingPlanCache.size();
+    }
+
+    @Override
+    public int getPlanCacheCapacity() {
+        return MappingPlanCache.getCapacity();
+    }
+
+    @Override
+    public void setPlanCacheCapacity(int capacity) {
+        MappingPlanCache.setCapacity( capacity );
+    }
+
+    @Override
+    public double getPlanCacheHitRatio() {
+        return hitRatio( MappingPlanCache.getHitCount(), MappingPlanCache.getMissCount() );
+    }
+
+    @Override
+    public long getPlanCacheEvictionCount() {
+        return MappingPlanCache.getEvictionCount();
+    }
+
+    @Override
+    public String getEngineMode() {
+        return ModelMapper.getEngineMode().name();
+    }
+
+    @Override
+    public void setEngineMode(String engineMode) {
+        ModelMapper.setEngineMode( EngineMode.forName(engineMode, ModelMapper.getEngineMode()) );
+    }
+
+    @Override
+    public void clearClassMetadataCache() {
+        ClassMetadataRegistry.getInstance().clear();
+    }
+
+    @Override
+    public void clearFieldAccessorCache() {
+        Accessors.clearFieldAccessorCache();
+    }
+
+    @Override
+    public void clearPlanCache() {
+        MappingPlanCache.clear();
+    }
+
+    @Override
+    public void clearCaches() {
+        ClassMetadataRegistry.getInstance().clear();
+        Accessors.clearFieldAccessorCache();
+        MappingPlanCache.clear();
+        IterativeDeepCopier.clearCopyPlans();
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static ObjectName objectName(){
+        try {
+            return new ObjectName(OBJECT_NAME);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double hitRatio(long hits, long misses){
+        long lookups = hits + misses;
+        return lookups == 0? 0: (double) hits / lookups;
+    }
+}
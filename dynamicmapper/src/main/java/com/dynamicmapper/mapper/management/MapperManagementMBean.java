@@ -0,0 +1,68 @@
+package com.dynamicmapper.mapper.management;
+
+/**
+ * JMX view of the mapper: the three caches it keeps and the engine mode, all of them changeable at runtime
+ *
+ * <ul>
+ *     <li>ClassMetadataCache: fields and methods of introspected classes, what ReflectionUtils lookups read</li>
+ *     <li>FieldAccessorCache: readers and writers built for fields</li>
+ *     <li>PlanCache: mapping plans by (source class, destination class) pair</li>
+ * </ul>
+ *
+ * @see MapperManagement#register()
+ */
+public interface MapperManagementMBean {
+
+    int getClassMetadataCacheSize();
+
+    int getClassMetadataCacheCapacity();
+
+    void setClassMetadataCacheCapacity(int capacity);
+
+    double getClassMetadataCacheHitRatio();
+
+    long getClassMetadataCacheEvictionCount();
+
+    int getFieldAccessorCacheSize();
+
+    int getFieldAccessorCacheCapacity();
+
+    void setFieldAccessorCacheCapacity(int capacity);
+
+    double getFieldAccessorCacheHitRatio();
+
+    long getFieldAccessorCacheEvictionCount();
+
+    int getPlanCacheSize();
+
+    int getPlanCacheCapacity();
+
+    void setPlanCacheCapacity(int capacity);
+
+    double getPlanCacheHitRatio();
+
+    long getPlanCacheEvictionCount();
+
+    /**
+     * @return one of REFLECTIVE, METHOD_HANDLE or GENERATED
+     */
+    String getEngineMode();
+
+    /**
+     * Switch the engine mode, cached plans are dropped so the next mappings use it
+     *
+     * @param engineMode one of REFLECTIVE, METHOD_HANDLE or GENERATED, case ignored
+     */
+    void setEngineMode(String engineMode);
+
+    void clearClassMetadataCache();
+
+    void clearFieldAccessorCache();
+
+    void clearPlanCache();
+
+    /**
+     * Clear the three caches, plus the deep copy plans
+     */
+    void clearCaches();
+}
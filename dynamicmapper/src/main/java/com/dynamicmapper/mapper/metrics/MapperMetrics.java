@@ -0,0 +1,133 @@
+package com.dynamicmapper.mapper.metrics;
+
+import com.dynamicmapper.commons.ClassMetadataRegistry;
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.plan.MappingPlanCache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Optional counters of what the mapper does: calls, objects and fields mapped, and a latency histogram, per
+ * (source class, destination class) pair, along with the statistics of the mapper caches. Read them through
+ * {@link #snapshot()}.
+ *
+ * Off by default, or on from startup with -D{@value #ENABLED_PROPERTY}=true. When off, the mapper only reads a
+ * volatile flag per call, neither the clock nor any counter is touched. When on, counters are
+ * {@link java.util.concurrent.atomic.LongAdder}s so mapping threads don't contend on them
+ */
+public final class MapperMetrics {
+
+
+    public static final String ENABLED_PROPERTY = "dynamicmapper.metrics.enabled";
+
+    public static final String CLASS_METADATA_CACHE = "classMetadata";
+    public static final String FIELD_ACCESSOR_CACHE = "fieldAccessors";
+    public static final String MAPPING_PLAN_CACHE   = "mappingPlans";
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    //source class -> destination class -> counters, two levels so recording allocates no key
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, PairMetrics>> pairs = new ConcurrentHashMap<>();
+
+
+    private MapperMetrics(){
+    }
+
+    public static boolean isEnabled(){
+        return enabled;
+    }
+
+    public static void enable(){
+        enabled = true;
+    }
+
+    /**
+     * Stop counting, counters collected so far are kept until {@link #reset()}
+     */
+    public static void disable(){
+        enabled = false;
+    }
+
+    /**
+     * Drop every pair counter, cache statistics are owned by the caches and kept
+     */
+    public static void reset(){
+        pairs.clear();
+    }
+
+    /**
+     * Count a call of a public mapping or copy operation
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param nanos            time the call took
+     */
+    public static void recordCall(Class<?> sourceClazz, Class<?> destinationClazz, long nanos){
+        if(enabled && sourceClazz != null && destinationClazz != null){
+            metricsOf(sourceClazz, destinationClazz).recordCall(nanos);
+        }
+    }
+
+    /**
+     * Count objects and fields mapped on behalf of the pair
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param objects
+     * @param fields
+     */
+    public static void recordWork(Class<?> sourceClazz, Class<?> destinationClazz, long objects, long fields){
+        if(enabled && sourceClazz != null && destinationClazz != null){
+            metricsOf(sourceClazz, destinationClazz).recordWork(objects, fields);
+        }
+    }
+
+    /**
+     * @return a copy of the counters as they are now
+     */
+    public static MetricsSnapshot snapshot(){
+        List<MetricsSnapshot.Pair> pairSnapshots = new ArrayList<>();
+        for(ConcurrentMap<Class<?>, PairMetrics> curr: pairs.values()){
+            for(PairMetrics pair: curr.values()){
+                pairSnapshots.add( pair.snapshot() );
+            }
+        }
+        Map<String, MetricsSnapshot.Cache> caches = new LinkedHashMap<>();
+        ClassMetadataRegistry registry = ClassMetadataRegistry.getInstance();
+        caches.put( CLASS_METADATA_CACHE, new MetricsSnapshot.Cache(registry.size(), registry.getCapacity(),
+                registry.getHitCount(), registry.getMissCount(), registry.getEvictionCount()) );
+        caches.put( FIELD_ACCESSOR_CACHE, new MetricsSnapshot.Cache(Accessors.getFieldAccessorCacheSize(),
+                Accessors.getFieldAccessorCacheCapacity(), Accessors.getFieldAccessorCacheHitCount(),
+                Accessors.getFieldAccessorCacheMissCount(), Accessors.getFieldAccessorCacheEvictionCount()) );
+        caches.put( MAPPING_PLAN_CACHE, new MetricsSnapshot.Cache(MappingPlanCache.size(), MappingPlanCache.getCapacity(),
+                MappingPlanCache.getHitCount(), MappingPlanCache.getMissCount(), MappingPlanCache.getEvictionCount()) );
+        return new MetricsSnapshot(System.currentTimeMillis(), pairSnapshots, caches);
+    }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static PairMetrics metricsOf(Class<?> sourceClazz, Class<?> destinationClazz){
+        ConcurrentMap<Class<?>, PairMetrics> byDestination = pairs.get(sourceClazz);
+        if(byDestination == null){
+            byDestination = new ConcurrentHashMap<>();
+            ConcurrentMap<Class<?>, PairMetrics> raced = pairs.putIfAbsent(sourceClazz, byDestination);
+            if(raced != null){
+                byDestination = raced;
+            }
+        }
+        PairMetrics metrics = byDestination.get(destinationClazz);
+        if(metrics == null){
+            metrics = new PairMetrics(sourceClazz, destinationClazz);
+            PairMetrics raced = byDestination.putIfAbsent(destinationClazz, metrics);
+            if(raced != null){
+                metrics = raced;
+            }
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,202 @@
+package com.dynamicmapper.mapper.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point in time copy of the {@link MapperMetrics} counters, immutable so it can be handed to any telemetry
+ * exporter. Counters are read one by one while mappings go on, so they are not a consistent cut: calls of a pair
+ * may already count a mapping whose latency is not in the histogram yet
+ */
+public final class MetricsSnapshot {
+
+
+    private final long             timestamp;
+    private final List<Pair>       pairs;
+    private final Map<String, Cache> caches;
+
+
+    MetricsSnapshot(long timestamp, List<Pair> pairs, Map<String, Cache> caches) {
+        this.timestamp = timestamp;
+        this.pairs     = Collections.unmodifiableList(pairs);
+        this.caches    = Collections.unmodifiableMap(caches);
+    }
+
+    /**
+     * @return when the snapshot was taken, in {@link System#currentTimeMillis()} time
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return counters of every pair mapped or copied since metrics were enabled or last reset
+     */
+    public List<Pair> getPairs() {
+        return pairs;
+    }
+
+    /**
+     * @param sourceClazz
+     * @param destinationClazz
+     * @return counters of the pair or <tt>null</tt> if it was never mapped
+     */
+    public Pair getPair(Class<?> sourceClazz, Class<?> destinationClazz){
+        for(Pair curr: pairs){
+            if(curr.sourceClazz == sourceClazz && curr.destinationClazz == destinationClazz){
+                return curr;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return statistics of the mapper caches by name, e.g: {@value MapperMetrics#CLASS_METADATA_CACHE}
+     */
+    public Map<String, Cache> getCaches() {
+        return caches;
+    }
+
+
+    /**
+     * Counters of one (source class, destination class) pair, a deep copy is the (class, class) pair
+     *
+     * Calls are the public entry points, a list mapped by mapList is one call. Objects and fields count every
+     * object of the graphs mapped, nested ones included, copies made by the deep copier aside
+     */
+    public static final class Pair {
+
+        private final Class<?> sourceClazz;
+        private final Class<?> destinationClazz;
+        private final long     calls;
+        private final long     objectsMapped;
+        private final long     fieldsMapped;
+        private final long     totalNanos;
+        private final long[]   latencyHistogram;
+
+        Pair(Class<?> sourceClazz, Class<?> destinationClazz, long calls, long objectsMapped, long fieldsMapped,
+             long totalNanos, long[] latencyHistogram) {
+            this.sourceClazz      = sourceClazz;
+            this.destinationClazz = destinationClazz;
+            this.calls            = calls;
+            this.objectsMapped    = objectsMapped;
+            this.fieldsMapped     = fieldsMapped;
+            this.totalNanos       = totalNanos;
+            this.latencyHistogram = latencyHistogram;
+        }
+
+        public Class<?> getSourceClazz() {
+            return sourceClazz;
+        }
+
+        public Class<?> getDestinationClazz() {
+            return destinationClazz;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getObjectsMapped() {
+            return objectsMapped;
+        }
+
+        public long getFieldsMapped() {
+            return fieldsMapped;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public double getMeanNanos(){
+            return calls == 0? 0: (double) totalNanos / calls;
+        }
+
+        /**
+         * @return a copy of the log2 latency histogram, entry i counts the calls which took [2^i, 2^(i+1))
+         * nanoseconds, entry 0 the ones under 2ns
+         */
+        public long[] getLatencyHistogram() {
+            return latencyHistogram.clone();
+        }
+
+        /**
+         * Estimate a latency percentile from the histogram
+         *
+         * @param percentile within [0, 100]
+         * @return the upper bound, in nanoseconds, of the bucket holding the percentile, 0 when there was no call
+         */
+        public long getLatencyPercentileNanos(double percentile){
+            if(percentile < 0 || percentile > 100){
+                throw new IllegalArgumentException(String.format("Percentile must be within [0, 100]: %s", percentile));
+            }
+            long total = 0;
+            for(long curr: latencyHistogram){
+                total += curr;
+            }
+            if(total == 0){
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for(int i=0; i< latencyHistogram.length; ++i){
+                seen += latencyHistogram[i];
+                if(seen >= rank){
+                    return i >= 62? Long.MAX_VALUE: (1L << (i + 1)) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * Statistics of one cache, counted since the JVM started whatever the metrics state: a reset leaves them
+     */
+    public static final class Cache {
+
+        private final int  size;
+        private final int  capacity;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        Cache(int size, int capacity, long hits, long misses, long evictions) {
+            this.size      = size;
+            this.capacity  = capacity;
+            this.hits      = hits;
+            this.misses    = misses;
+            this.evictions = evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * @return hits over lookups, 0 when the cache was never read
+         */
+        public double getHitRatio(){
+            long lookups = hits + misses;
+            return lookups == 0? 0: (double) hits / lookups;
+        }
+    }
+}
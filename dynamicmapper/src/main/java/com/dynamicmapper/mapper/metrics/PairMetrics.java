@@ -0,0 +1,56 @@
+package com.dynamicmapper.mapper.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of one (source class, destination class) pair. Latencies go in log2 buckets: bucket i counts the
+ * calls which took [2^i, 2^(i+1)) nanoseconds, bucket 0 the ones under 2ns
+ */
+final class PairMetrics {
+
+
+    static final int LATENCY_BUCKETS = 64;
+
+    private final Class<?> sourceClazz;
+    private final Class<?> destinationClazz;
+
+    private final LongAdder calls         = new LongAdder();
+    private final LongAdder objectsMapped = new LongAdder();
+    private final LongAdder fieldsMapped  = new LongAdder();
+    private final LongAdder totalNanos    = new LongAdder();
+    private final LongAdder[] latencies   = new LongAdder[LATENCY_BUCKETS];
+
+
+    PairMetrics(Class<?> sourceClazz, Class<?> destinationClazz) {
+        this.sourceClazz      = sourceClazz;
+        this.destinationClazz = destinationClazz;
+        for(int i=0; i< LATENCY_BUCKETS; ++i){
+            latencies[i] = new LongAdder();
+        }
+    }
+
+    void recordCall(long nanos){
+        long elapsed = Math.max(nanos, 0L);
+        calls.increment();
+        totalNanos.add(elapsed);
+        latencies[bucketOf(elapsed)].increment();
+    }
+
+    void recordWork(long objects, long fields){
+        objectsMapped.add(objects);
+        fieldsMapped.add(fields);
+    }
+
+    MetricsSnapshot.Pair snapshot(){
+        long[] histogram = new long[LATENCY_BUCKETS];
+        for(int i=0; i< LATENCY_BUCKETS; ++i){
+            histogram[i] = latencies[i].sum();
+        }
+        return new MetricsSnapshot.Pair(sourceClazz, destinationClazz, calls.sum(), objectsMapped.sum(),
+                fieldsMapped.sum(), totalNanos.sum(), histogram);
+    }
+
+    static int bucketOf(long nanos){
+        return nanos <= 1? 0: 63 - Long.numberOfLeadingZeros(nanos);
+    }
+}
@@ -0,0 +1,37 @@
+package com.dynamicmapper.mapper.plan;
+
+/**
+ * A (source class, destination class) key
+ */
+final class ClassPair {
+
+    private final Class<?> sourceClazz;
+    private final Class<?> destinationClazz;
+
+    ClassPair(Class<?> sourceClazz, Class<?> destinationClazz) {
+        this.sourceClazz      = sourceClazz;
+        this.destinationClazz = destinationClazz;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o){
+            return true;
+        }
+        if( !(o instanceof ClassPair) ){
+            return false;
+        }
+        ClassPair other = (ClassPair) o;
+        return sourceClazz == other.sourceClazz && destinationClazz == other.destinationClazz;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * sourceClazz.hashCode() + destinationClazz.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return sourceClazz.getName() + " -> " + destinationClazz.getName();
+    }
+}
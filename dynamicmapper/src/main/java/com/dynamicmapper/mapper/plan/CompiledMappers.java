@@ -0,0 +1,70 @@
+package com.dynamicmapper.mapper.plan;
+
+import com.dynamicmapper.mapper.CompiledMapper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the {@link CompiledMapper}s generated at compile time, discovered once through {@link ServiceLoader}
+ * from this library class loader and from the thread context one
+ */
+final class CompiledMappers {
+
+
+    private static volatile Map<ClassPair, CompiledMapper<?, ?>> registeredMappers;
+
+
+    private CompiledMappers(){
+    }
+
+    /**
+     * @param sourceClazz
+     * @param destinationClazz
+     * @return the compiled mapper of the pair or <tt>null</tt> if there is none
+     */
+    static <S, D> CompiledMapper<S, D> lookup(Class<S> sourceClazz, Class<D> destinationClazz){
+        return (CompiledMapper<S, D>) registeredMappers().get( new ClassPair(sourceClazz, destinationClazz) );
+    }
+
+    private static Map<ClassPair, CompiledMapper<?, ?>> registeredMappers(){
+
+        Map<ClassPair, CompiledMapper<?, ?>> mappers = registeredMappers;
+        if(mappers == null){
+            synchronized ( CompiledMappers.class ){
+                mappers = registeredMappers;
+                if(mappers == null){
+                    mappers = new HashMap<>();
+                    discover(CompiledMappers.class.getClassLoader(), mappers);
+                    ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+                    if(contextLoader != null && contextLoader != CompiledMappers.class.getClassLoader()){
+                        discover(contextLoader, mappers);
+                    }
+                    registeredMappers = mappers;
+                }
+            }
+        }
+        return mappers;
+    }
+
+    private static void discover(ClassLoader loader, Map<ClassPair, CompiledMapper<?, ?>> mappers){
+        Iterator<CompiledMapper> it = ServiceLoader.load(CompiledMapper.class, loader).iterator();
+        while( true ){
+            try {
+                if( !it.hasNext() ){
+                    return;
+                }
+                CompiledMapper<?, ?> mapper = it.next();
+                ClassPair key = new ClassPair(mapper.sourceType(), mapper.destinationType());
+                if( !mappers.containsKey(key) ){
+                    mappers.put(key, mapper);
+                }
+            } catch (ServiceConfigurationError e) {
+                //A stale entry (e.g. class removed since last generation) must not prevent mapping, just skip it
+            }
+        }
+    }
+}
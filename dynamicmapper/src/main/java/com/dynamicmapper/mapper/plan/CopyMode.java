@@ -0,0 +1,14 @@
+package com.dynamicmapper.mapper.plan;
+
+/**
+ * How a value read from the source object is turned into the value written on the destination field
+ */
+public enum CopyMode {
+
+    /** Primitives, well known immutable classes from JDK and enums: the reference is shared as is */
+    ASSIGN,
+    /** Collections (and values of the very same class of the field): the value is deep copied */
+    DEEP_COPY,
+    /** Deep copied when the value class is the field type itself, otherwise mapped to the field type */
+    DEEP_COPY_OR_MAP;
+}
@@ -0,0 +1,147 @@
+package com.dynamicmapper.mapper.plan;
+
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.mapper.CompiledMapper;
+import com.dynamicmapper.mapper.Mapper;
+import com.dynamicmapper.mapper.generator.MapperClassGenerator;
+import com.dynamicmapper.mapper.policy.MappingManager;
+import com.dynamicmapper.mapper.policy.SystemLegacyMappingStrategy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The precompiled recipe for mapping objects of a source class into objects of a destination class.
+ *
+ * All the introspection (destination fields, mapping strategy discovery and getters lookup) is done
+ * once when the plan is built, so mapping an object is just running through {@link #getPropertyMappings()}
+ *
+ * @see MappingPlanCache
+ */
+public final class MappingPlan<S, D> {
+
+    private final Class<S> sourceClazz;
+    private final Class<D> destinationClazz;
+    private final List<PropertyMapping> propertyMappings;
+    private final List<PropertyMapping> allPropertyMappings;
+    private final Mapper<S, D> generatedMapper;
+
+
+    private MappingPlan(Class<S> sourceClazz, Class<D> destinationClazz, List<PropertyMapping> propertyMappings,
+                        List<PropertyMapping> allPropertyMappings, Mapper<S, D> generatedMapper) {
+        this.sourceClazz         = sourceClazz;
+        this.destinationClazz    = destinationClazz;
+        this.propertyMappings    = Collections.unmodifiableList(propertyMappings);
+        this.allPropertyMappings = Collections.unmodifiableList(allPropertyMappings);
+        this.generatedMapper     = generatedMapper;
+    }
+
+    /**
+     * Introspect both classes and build the plan for mapping sourceClazz objects into destinationClazz objects
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     * @param generateMapper whether straight copies should be handed to a mapper class generated at runtime, a
+     *                       {@link CompiledMapper} found for the pair is always preferred
+     * @return
+     */
+    static <S, D> MappingPlan<S, D> compile(Class<S> sourceClazz, Class<D> destinationClazz, boolean generateMapper){
+
+        List<PropertyMapping> propertyMappings = new ArrayList<>();
+        for(Field dstField: ReflectionUtils.getClazzFieldsAlongTheHierarchy( destinationClazz )){
+            if( Modifier.isStatic( dstField.getModifiers() ) ){
+                continue;
+            }
+            SystemLegacyMappingStrategy mapping = MappingManager.discovery( dstField );
+            Method getter = mapping.lookupAccessor( sourceClazz );
+            propertyMappings.add( new PropertyMapping(getter, dstField, copyModeOf(dstField.getType())) );
+        }
+        //Mappers generated at compile time win over everything else
+        CompiledMapper<S, D> compiled = CompiledMappers.lookup(sourceClazz, destinationClazz);
+        if(compiled != null){
+            Set<String> mappedFields = new HashSet<>(Arrays.asList(compiled.mappedFields()));
+            List<PropertyMapping> remaining = new ArrayList<>();
+            for(PropertyMapping curr: propertyMappings){
+                if( !mappedFields.contains(curr.getTarget().getName()) ){
+                    remaining.add( curr );
+                }
+            }
+            return new MappingPlan<>(sourceClazz, destinationClazz, remaining, propertyMappings, compiled);
+        }
+        if( !generateMapper ){
+            return new MappingPlan<>(sourceClazz, destinationClazz, propertyMappings, propertyMappings, null);
+        }
+        List<PropertyMapping> straightCopies = new ArrayList<>();
+        List<PropertyMapping> remaining      = new ArrayList<>();
+        for(PropertyMapping curr: propertyMappings){
+            if( MapperClassGenerator.supports(sourceClazz, destinationClazz, curr) ){
+                straightCopies.add( curr );
+            }else{
+                remaining.add( curr );
+            }
+        }
+        Mapper<S, D> generated = straightCopies.isEmpty()? null:
+                MapperClassGenerator.generate(sourceClazz, destinationClazz, straightCopies);
+        //Generation failed: the reflective engine takes every property
+        if(generated == null){
+            return new MappingPlan<>(sourceClazz, destinationClazz, propertyMappings, propertyMappings, null);
+        }
+        return new MappingPlan<>(sourceClazz, destinationClazz, remaining, propertyMappings, generated);
+    }
+
+    public Class<S> getSourceClazz() {
+        return sourceClazz;
+    }
+
+    public Class<D> getDestinationClazz() {
+        return destinationClazz;
+    }
+
+    /**
+     * @return the mapper, generated at compile time or at runtime, taking care of straight copies, <tt>null</tt>
+     * when the plan is fully reflective
+     */
+    public Mapper<S, D> getGeneratedMapper() {
+        return generatedMapper;
+    }
+
+    /**
+     * @return one entry per destination field not covered by the generated mapper, in the order fields are walked
+     * along destination class hierarchy
+     */
+    public List<PropertyMapping> getPropertyMappings() {
+        return propertyMappings;
+    }
+
+    /**
+     * @return one entry per destination field, those the generated mapper covers included, for mappings that must
+     * check every value before writing it
+     */
+    public List<PropertyMapping> getAllPropertyMappings() {
+        return allPropertyMappings;
+    }
+
+    /**
+     * Figure out from the field type alone how values are going to be copied
+     *
+     * @param fieldType
+     * @return
+     */
+    private static CopyMode copyModeOf(Class<?> fieldType){
+        if( ReflectionUtils.typeIsAwellKnownImmutableClazzFromJDK( fieldType ) ){
+            return CopyMode.ASSIGN;
+        }
+        if( Collection.class.isAssignableFrom( fieldType ) ){
+            return CopyMode.DEEP_COPY;
+        }
+        return CopyMode.DEEP_COPY_OR_MAP;
+    }
+}
@@ -0,0 +1,112 @@
+package com.dynamicmapper.mapper.plan;
+
+import com.dynamicmapper.commons.ConcurrentLRUCache;
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.access.EngineMode;
+import com.dynamicmapper.mapper.events.MapperEvents;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent cache of {@link MappingPlan}s keyed by (source class, destination class) pair
+ *
+ * Plans are immutable, so a plan built twice by two racing threads is harmless: the first one stored wins.
+ * The cache is a bounded {@link ConcurrentLRUCache}, an evicted plan is built again on next lookup
+ */
+public final class MappingPlanCache {
+
+
+    private static final int CACHE_DEFAULT_CAPACITY = 512;
+
+    private static final ConcurrentLRUCache<ClassPair, MappingPlan<?, ?>> cachedPlans =
+            new ConcurrentLRUCache<>(CACHE_DEFAULT_CAPACITY);
+
+    //Pairs for which a mapper class is generated whatever the engine mode is
+    private static final Set<ClassPair> generatedPairs =
+            Collections.newSetFromMap(new ConcurrentHashMap<ClassPair, Boolean>());
+
+
+    private MappingPlanCache(){
+    }
+
+    /**
+     * Get the plan for mapping sourceClazz objects into destinationClazz ones, building it on first call
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     * @return
+     */
+    public static <S, D> MappingPlan<S, D> lookup(Class<S> sourceClazz, Class<D> destinationClazz){
+
+        ClassPair key = new ClassPair(sourceClazz, destinationClazz);
+        MappingPlan<S, D> plan = (MappingPlan<S, D>) cachedPlans.get( key );
+        if(plan == null){
+            boolean generateMapper = Accessors.getMode() == EngineMode.GENERATED || generatedPairs.contains( key );
+            Object planBuilt = MapperEvents.beginPlanBuild();
+            plan = MappingPlan.compile(sourceClazz, destinationClazz, generateMapper);
+            MapperEvents.endPlanBuild(planBuilt, sourceClazz, destinationClazz, plan.getAllPropertyMappings().size());
+            MappingPlan<S, D> alreadyCached = (MappingPlan<S, D>) cachedPlans.putIfAbsent(key, plan);
+            if(alreadyCached != null){
+                plan = alreadyCached;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Ask for a generated mapper class on the given pair, its plan is built again on next lookup
+     *
+     * @param sourceClazz
+     * @param destinationClazz
+     */
+    public static void generateMapperFor(Class<?> sourceClazz, Class<?> destinationClazz){
+        ClassPair key = new ClassPair(sourceClazz, destinationClazz);
+        generatedPairs.add( key );
+        cachedPlans.remove( key );
+    }
+
+    /**
+     * @return number of plans currently cached
+     */
+    public static int size(){
+        return cachedPlans.size();
+    }
+
+    public static int getCapacity(){
+        return cachedPlans.getCapacity();
+    }
+
+    /**
+     * Change how many plans are kept, shrinking evicts right away
+     *
+     * @param capacity
+     */
+    public static void setCapacity(int capacity){
+        cachedPlans.setCapacity( capacity );
+    }
+
+    public static long getHitCount(){
+        return cachedPlans.getHitCount();
+    }
+
+    public static long getMissCount(){
+        return cachedPlans.getMissCount();
+    }
+
+    public static long getEvictionCount(){
+        return cachedPlans.getEvictionCount();
+    }
+
+    public static void setEvictionListener(ConcurrentLRUCache.EvictionListener<Object, Object> listener){
+        cachedPlans.setEvictionListener( listener );
+    }
+
+    /**
+     * Drop every cached plan, they will be built again on demand
+     */
+    public static void clear(){
+        cachedPlans.clear();
+    }
+}
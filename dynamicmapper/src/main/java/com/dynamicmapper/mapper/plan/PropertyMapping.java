@@ -0,0 +1,88 @@
+package com.dynamicmapper.mapper.plan;
+
+import com.dynamicmapper.mapper.access.Accessors;
+import com.dynamicmapper.mapper.access.FieldAccessor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * A single step of a {@link MappingPlan}: everything needed to fill one destination field,
+ * resolved once when the plan is built
+ */
+public final class PropertyMapping {
+
+    private final Method getter;
+    private final Field target;
+    private final Class<?> targetType;
+    private final CopyMode copyMode;
+
+    private final Function<Object, Object> reader;
+    private final FieldAccessor writer;
+
+
+    PropertyMapping(Method getter, Field target, CopyMode copyMode) {
+        this.getter     = getter;
+        this.target     = target;
+        this.targetType = target.getType();
+        this.copyMode   = copyMode;
+        this.reader     = Accessors.getterOf(getter);
+        this.writer     = Accessors.fieldAccessorOf(target);
+    }
+
+    /**
+     * Read this property value from the source object
+     *
+     * @param sourceObj
+     * @return the getter result, <tt>null</tt> when source class has no getter for it
+     */
+    public Object read(Object sourceObj){
+        return reader.apply(sourceObj);
+    }
+
+    /**
+     * Read the value the destination object currently holds
+     *
+     * @param dstObject
+     * @return
+     */
+    public Object readTarget(Object dstObject){
+        return writer.get(dstObject);
+    }
+
+    /**
+     * Write the (already converted) value on the destination object
+     *
+     * @param dstObject
+     * @param value
+     */
+    public void write(Object dstObject, Object value){
+        writer.set(dstObject, value);
+    }
+
+    /**
+     * @return the accessor invoked on the source object, <tt>null</tt> when the source class has none
+     */
+    public Method getGetter() {
+        return getter;
+    }
+
+    /**
+     * @return the destination field
+     */
+    public Field getTarget() {
+        return target;
+    }
+
+    /**
+     * @return the type values are converted to before being assigned to the destination field
+     */
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    public CopyMode getCopyMode() {
+        return copyMode;
+    }
+}
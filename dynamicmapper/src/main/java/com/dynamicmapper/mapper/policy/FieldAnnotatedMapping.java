@@ -6,31 +6,30 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
 import static com.dynamicmapper.commons.ReflectionUtils.invokeReflective;
-import static com.dynamicmapper.commons.ReflectionUtils.lookupPropertyResolver;
+import static com.dynamicmapper.commons.ReflectionUtils.propertyIndexOf;
 
 public class FieldAnnotatedMapping implements SystemLegacyMappingStrategy {
 
-    private Object provider;
-    private Field target; //Might be Field Or Method it doesn't matter
-    private Class<? extends Mappable> annotationClazz;
+    private final Field target; //Might be Field Or Method it doesn't matter
+    private final String methodName;
 
 
-    public FieldAnnotatedMapping() {
-        this(Mappable.class);
+    public FieldAnnotatedMapping(Field target) {
+        this(target, Mappable.class);
     }
 
-    public FieldAnnotatedMapping(Class<?extends Mappable> annotationClazz ) {
-        this.annotationClazz = annotationClazz;
+    public FieldAnnotatedMapping(Field target, Class<?extends Mappable> annotationClazz ) {
+        this.target     = target;
+        this.methodName = target.getAnnotation(annotationClazz).methodName();
     }
-    @Override public void setProvider(Object provider) {
-        this.provider = provider;
+    @Override public Field getTarget() {
+        return target;
     }
-    @Override public void setTarget(Field obj) {
-        this.target = obj;
-    }
-    @Override public Object resolve() {
-        String methodNameToLookup = target.getAnnotation(annotationClazz).methodName();
-        Method methodToBeInvokedOnProvider = lookupPropertyResolver(methodNameToLookup, provider.getClass() );
+    @Override public Object resolve(Object provider) {
+        Method methodToBeInvokedOnProvider = lookupAccessor( provider.getClass() );
         return invokeReflective(provider, methodToBeInvokedOnProvider);
     }
+    @Override public Method lookupAccessor(Class<?> providerClazz) {
+        return propertyIndexOf( providerClazz ).accessor( methodName );
+    }
 }
@@ -1,35 +1,53 @@
 package com.dynamicmapper.mapper.policy;
 
 import com.dynamicmapper.commons.Mappable;
-import com.dynamicmapper.commons.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MappingManager {
 
-    private static Map<MappingPolicy, Class<? extends SystemLegacyMappingStrategy> > mappers;
+    //Strategies are stateless, one per destination field is shared by everybody. Kept along with the declaring
+    //class, so they don't hold on to classes of unloaded class loaders
+    private static final ClassValue<ConcurrentMap<Field, SystemLegacyMappingStrategy>> strategies =
+            new ClassValue<ConcurrentMap<Field, SystemLegacyMappingStrategy>>() {
+                @Override
+                protected ConcurrentMap<Field, SystemLegacyMappingStrategy> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
-    static {
-        mappers = new HashMap<>();
-        mappers.put(MappingPolicy.FIELD_ANNOTATION,   FieldAnnotatedMapping.class   );
-        mappers.put(MappingPolicy.PROPERTY_ACCESSOR,  PropertyAccessorMapping.class );
-    }
 
     public static SystemLegacyMappingStrategy discovery(Field field) {
 
-        SystemLegacyMappingStrategy selectedMapper;
-        Class<? extends SystemLegacyMappingStrategy > mapperClazz;
-
-        if( field.isAnnotationPresent(Mappable.class) ){
-            mapperClazz = mappers.get(MappingPolicy.FIELD_ANNOTATION);
-        }
-        else{
-            mapperClazz = mappers.get(MappingPolicy.PROPERTY_ACCESSOR);
+        ConcurrentMap<Field, SystemLegacyMappingStrategy> declared = strategies.get( field.getDeclaringClass() );
+        SystemLegacyMappingStrategy selectedMapper = declared.get( field );
+        if(selectedMapper == null){
+            selectedMapper = newStrategy( policyOf(field), field );
+            SystemLegacyMappingStrategy raced = declared.putIfAbsent( field, selectedMapper );
+            if(raced != null){
+                selectedMapper = raced;
+            }
         }
-        selectedMapper = ReflectionUtils.newInstanceOf(mapperClazz);
-        selectedMapper.setTarget( field );
         return selectedMapper;
     }
+
+    /**======================================== PRIVATE PARTS ======================================================= **/
+
+    private static MappingPolicy policyOf(Field field){
+        return field.isAnnotationPresent(Mappable.class)?
+                MappingPolicy.FIELD_ANNOTATION: MappingPolicy.PROPERTY_ACCESSOR;
+    }
+
+    private static SystemLegacyMappingStrategy newStrategy(MappingPolicy policy, Field field){
+        switch (policy){
+            case FIELD_ANNOTATION:
+                return new FieldAnnotatedMapping( field );
+            case PROPERTY_ACCESSOR:
+                return new PropertyAccessorMapping( field );
+            default:
+                throw new RuntimeException( String.format("Mapping policy %s is not supported", policy) );
+        }
+    }
 }
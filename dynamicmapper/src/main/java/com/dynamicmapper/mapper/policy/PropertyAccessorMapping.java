@@ -4,29 +4,30 @@ import com.dynamicmapper.commons.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.List;
 
 public class PropertyAccessorMapping implements SystemLegacyMappingStrategy {
 
-    private Object provider;
-    private Field target;
-
-    @Override public void setProvider(Object provider) {
-        this.provider = provider;
+    private final Field target;
+    private final String methodName;
 
+    public PropertyAccessorMapping(Field target) {
+        this.target     = target;
+        this.methodName = methodNameToLookup(target);
     }
-    @Override public void setTarget(Field obj) {
-        this.target = obj;
+
+    @Override public Field getTarget() {
+        return target;
     }
-    @Override public Object resolve() {
+    @Override public Object resolve(Object provider) {
 
-        final String methodName = methodNameToLookup();
-        List<Method> targetAccessibleMethods = ReflectionUtils.gettersOf(provider.getClass(), methodName);
-        Method propertyAccessor = ReflectionUtils.lookupPropertyResolver(methodName, targetAccessibleMethods);
+        Method propertyAccessor = lookupAccessor( provider.getClass() );
         return ReflectionUtils.invokeReflective(provider, propertyAccessor);
     }
+    @Override public Method lookupAccessor(Class<?> providerClazz) {
+        return ReflectionUtils.propertyIndexOf(providerClazz).getter( methodName );
+    }
 
-    private String methodNameToLookup() {
+    private static String methodNameToLookup(Field target) {
         int initIndex=0;
         String fieldName = target.getName();
         char firstLetterInCapital   = Character.toUpperCase(fieldName.charAt(initIndex));
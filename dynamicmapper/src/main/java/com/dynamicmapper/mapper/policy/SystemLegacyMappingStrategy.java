@@ -1,10 +1,36 @@
 package com.dynamicmapper.mapper.policy;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
+/**
+ * Resolves the value of a destination field out of a provider object
+ *
+ * A strategy is bound to its target field when built and holds no other state, so a single instance per field
+ * is shared by every mapping thread
+ *
+ * @see MappingManager#discovery(Field)
+ */
 public interface SystemLegacyMappingStrategy {
 
-    void setProvider(Object provider);
-    void setTarget(Field target);
-    Object resolve();
+    /**
+     * @return the destination field this strategy feeds
+     */
+    Field getTarget();
+
+    /**
+     * Read from provider the value of the target field
+     *
+     * @param provider
+     * @return
+     */
+    Object resolve(Object provider);
+
+    /**
+     * Lookup, without any provider at hand, the method of providerClazz that feeds the target field
+     *
+     * @param providerClazz
+     * @return the accessor or <tt>null</tt> if providerClazz doesn't have one
+     */
+    Method lookupAccessor(Class<?> providerClazz);
 }
@@ -1,129 +1,849 @@
-package com.dynamicmapper;
-
-import com.dynamicmapper.domain.*;
-import com.dynamicmapper.mapper.ModelMapper;
-import org.junit.Assert;
-import org.junit.Test;
-
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
-
-public class ModelMapperTest {
-
-
-
-
-
-
-    @Test
-    public void testDeepCopy() {
-
-        Student s1 = createStudent();
-        LinkedList<Student> lst = new LinkedList();
-        lst.add(s1);
-
-        Course c1 = new Course("Computer Science", Arrays.asList( new Student[]{s1} ), lst);
-        Course c2 = ModelMapper.deepCopyOf( c1 );
-        Assert.assertTrue( c1.getTitle().equals(c2.getTitle()) );
-    }
-
-
-
-
-    @Test
-    public void testSimpleObjectMappingAnnotationFieldStrategy(){
-
-        Student s1 = createStudent();
-        StudentVO vo = ModelMapper.map(s1, StudentVO.class);
-        Assert.assertTrue( s1.getName().equals(vo.getFirstName()) );
-    }
-
-    @Test
-    public void testListOfComplexObjectMappingAnnotationFieldStrategy(){
-
-        Student s1 = createStudent();
-        Student s2 = createStudent();
-        s2.setName("Jane Doe");
-
-        List<Student> studentList = Arrays.asList(s1, s2);
-        List<StudentVO> studentListVO = ModelMapper.mapList(studentList, StudentVO.class);
-
-        Assert.assertTrue(studentListVO!= null && studentListVO.size()==2);
-    }
-
-
-    @Test
-    public void testCyclicReferenceOnMappingAndPass(){
-
-        Person p1 = createPerson();
-        p1.setParent(p1);
-        PersonVO pvo = ModelMapper.map(p1,  PersonVO.class);
-        Assert.assertTrue(pvo.getParent()!=null && pvo.getParent().getParent()==null);
-    }
-
-
-    @Test
-    public void testMappingWithAgregationAnnotationFieldMappingStrategyAndPass(){
-
-        Person p1 = createPerson();
-        p1.setParent(createPerson());
-        PersonVO pvo = ModelMapper.map(p1, PersonVO.class);
-        Assert.assertTrue(pvo.getParent()!=null);
-    }
-
-
-    @Test
-    public void testMappingPropertyAccessorStrategyAndPass(){
-
-        Teacher teacher = createTeacher();
-        TeacherVO teacherVO = ModelMapper.map(teacher, TeacherVO.class);
-        Assert.assertTrue(teacherVO!= null);
-    }
-
-    @Test
-    public void testMappingPropertyAccessorWithNonPurePojoObjectAndPass(){
-
-        BMWVO bmwI8 = new BMWVO("BMWVO","i8","xxx");
-        BMW vo      = ModelMapper.map(bmwI8, BMW.class);
-        Assert.assertTrue(vo!= null);
-    }
-
-
-    @Test
-    public void testMappingUsingMixedStrategyAndPass(){
-
-        Person p = createPerson();
-        p.setAddress(new Address("London Road",91,"HLY25"));
-        p.setGender(Gender.FEMALE);
-        p.setCarVOList(Arrays.asList(
-                new CarVO[]{new BMWVO("BMWVO","i3","XXX"),
-                        new BMWVO("BMWVO","i8","YYY")
-                }));
-        PersonVO p2 = ModelMapper.map(p, PersonVO.class);
-        Assert.assertTrue(p2!=null);
-    }
-
-    private static Student createStudent() {
-        Student s1 = new Student();
-        s1.setEducationLevel("Bachelor");
-        s1.setSubjects(new Subject[]{
-                new Subject("ALG", "Algebra",   1),
-                new Subject("PHYS1", "Physics", 1),
-                new Subject("PG", "Programming",2),
-        });
-        s1.setAge(20);
-        s1.setName("John Doe");
-        return s1;
-    }
-
-    private static Person createPerson(){
-        return new Person("Jane Doe", 27);
-    }
-
-    private static Teacher createTeacher(){
-        return new Teacher("John Doe",42,new String[]{"Electronics, Embedded Systems"}, "Master");
-    }
-
-
+package com.dynamicmapper;
+
+import com.dynamicmapper.domain.*;
+import com.dynamicmapper.commons.Immutable;
+import com.dynamicmapper.commons.ImmutableTypes;
+import com.dynamicmapper.mapper.CompiledMapper;
+import com.dynamicmapper.mapper.LazyLoaded;
+import com.dynamicmapper.mapper.Mapper;
+import com.dynamicmapper.mapper.MappingOptions;
+import com.dynamicmapper.mapper.ModelMapper;
+import com.dynamicmapper.mapper.access.EngineMode;
+import com.dynamicmapper.mapper.copy.DeepCopyMode;
+import com.dynamicmapper.mapper.events.MapperEvents;
+import com.dynamicmapper.mapper.management.MapperManagement;
+import com.dynamicmapper.mapper.metrics.MapperMetrics;
+import com.dynamicmapper.mapper.metrics.MetricsSnapshot;
+import com.dynamicmapper.mapper.plan.MappingPlan;
+import com.dynamicmapper.mapper.plan.MappingPlanCache;
+import com.dynamicmapper.mapper.policy.MappingManager;
+import com.dynamicmapper.mapper.policy.SystemLegacyMappingStrategy;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ModelMapperTest {
+
+
+
+
+
+
+    @Test
+    public void testDeepCopy() {
+
+        Student s1 = createStudent();
+        LinkedList<Student> lst = new LinkedList();
+        lst.add(s1);
+
+        Course c1 = new Course("Computer Science", Arrays.asList( new Student[]{s1} ), lst);
+        Course c2 = ModelMapper.deepCopyOf( c1 );
+        Assert.assertTrue( c1.getTitle().equals(c2.getTitle()) );
+        //The same student reached through both lists is copied once
+        Assert.assertNotSame( s1, c2.getStudents().get(0) );
+        Assert.assertSame( c2.getStudents().get(0), c2.getNightlyStudents().get(0) );
+    }
+
+    @Test
+    public void testDeepCopyOfVeryDeepGraphKeepsCycles() {
+
+        Person root = createPerson();
+        Person tail = root;
+        for(int i=0; i< 200_000; ++i){
+            Person next = new Person("Person " + i, i % 100);
+            tail.setParent( next );
+            tail = next;
+        }
+        tail.setParent( root );
+
+        Person copy = ModelMapper.deepCopyOf( root );
+        Person curr = copy;
+        for(int i=0; i< 200_000; ++i){
+            Assert.assertNotSame( tail, curr );
+            curr = curr.getParent();
+        }
+        Assert.assertEquals( "Person 199999", curr.getName() );
+        Assert.assertSame( copy, curr.getParent() );
+    }
+
+    @Test
+    public void testDeepCopyOfParallelKeepsOrderAndSharing() {
+
+        LinkedList<Student> students = new LinkedList<>();
+        LinkedList<Student> nightly = new LinkedList<>();
+        for(int i=0; i< 5000; ++i){
+            Student curr = createStudent();
+            curr.setName("Student " + i);
+            students.add(curr);
+            nightly.add(curr);
+        }
+        Course c1 = new Course("Computer Science", students, nightly);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Course c2 = ModelMapper.deepCopyOfParallel( c1, pool, 64 );
+            Assert.assertEquals( students.size(), c2.getStudents().size() );
+            Iterator<Student> copies = c2.getStudents().iterator();
+            Iterator<Student> nightlyCopies = c2.getNightlyStudents().iterator();
+            int idx = 0;
+            for(Student curr: students){
+                Student copy = copies.next();
+                Assert.assertNotSame( curr, copy );
+                Assert.assertEquals( "Student " + idx++, copy.getName() );
+                Assert.assertSame( copy, nightlyCopies.next() );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeepCopyOfParallelFillsSharedSetsOnceComplete() {
+
+        List<Set<String>> groups = new ArrayList<>();
+        Set<Set<String>> distinctGroups = new HashSet<>();
+        for(int i=0; i< 2000; ++i){
+            Set<String> curr = new HashSet<>( Arrays.asList("Group " + i, "Member " + i) );
+            groups.add(curr);
+            distinctGroups.add(curr);
+        }
+        Object[] source = { groups, distinctGroups };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Object[] copy = ModelMapper.deepCopyOfParallel( source, pool, 16 );
+            List<Set<String>> groupsCopy = (List<Set<String>>) copy[0];
+            Set<Set<String>> distinctCopy = (Set<Set<String>>) copy[1];
+            Assert.assertEquals( distinctGroups, distinctCopy );
+            for(Set<String> curr: groupsCopy){
+                Assert.assertTrue( distinctCopy.contains(curr) );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeepCopyHashesElementsReachedBeforeTheirSet() {
+
+        KeyHolder holder = new KeyHolder();
+        holder.first = new Key("first");
+        holder.keys.add(holder.first);
+        holder.values.put(holder.first, "value");
+
+        KeyHolder copy = ModelMapper.deepCopyOf( holder );
+        Assert.assertNotSame( holder.first, copy.first );
+        Assert.assertTrue( copy.keys.contains(copy.first) );
+        Assert.assertEquals( "value", copy.values.get(copy.first) );
+    }
+
+    @Test
+    public void testRegisteringAnImmutableTypeDropsBuiltPlans() {
+
+        LabelHolder holder = new LabelHolder();
+        holder.setLabel(new Label());
+        Assert.assertNotSame( holder.getLabel(), ModelMapper.<LabelHolder>deepCopyOf(holder).getLabel() );
+        Assert.assertNotSame( holder.getLabel(), ModelMapper.map(holder, LabelHolder.class).getLabel() );
+
+        ImmutableTypes.register(Label.class);
+        Assert.assertSame( holder.getLabel(), ModelMapper.<LabelHolder>deepCopyOf(holder).getLabel() );
+        Assert.assertSame( holder.getLabel(), ModelMapper.map(holder, LabelHolder.class).getLabel() );
+    }
+
+    @Test
+    public void testDeepCopyOfArrays() {
+
+        byte[] payload = new byte[4 << 20];
+        new Random(7).nextBytes(payload);
+        double[] measures = {1.5, 2.5, Double.NaN};
+        String[] names = {"Algebra", null, "Physics"};
+
+        byte[] payloadCopy = ModelMapper.deepCopyOf( payload );
+        double[] measuresCopy = ModelMapper.deepCopyOf( measures );
+        String[] namesCopy = ModelMapper.deepCopyOf( names );
+
+        Assert.assertNotSame( payload, payloadCopy );
+        Assert.assertArrayEquals( payload, payloadCopy );
+        Assert.assertArrayEquals( measures, measuresCopy, 0d );
+        Assert.assertArrayEquals( names, namesCopy );
+
+        Student s1 = createStudent();
+        Student s2 = ModelMapper.deepCopyOf( s1 );
+        Assert.assertNotSame( s1.getSubjects(), s2.getSubjects() );
+        Assert.assertNotSame( s1.getSubjects()[0], s2.getSubjects()[0] );
+        Assert.assertEquals( s1.getSubjects()[0].getFullDescription(), s2.getSubjects()[0].getFullDescription() );
+    }
+
+    @Test
+    public void testDeepCopyOfMapCopiesValues() {
+
+        Map<String, Person> persons = new HashMap<>();
+        persons.put("jane", createPerson());
+        Map<String, Person> copy = ModelMapper.deepCopyOf( persons );
+
+        Assert.assertNotSame( persons.get("jane"), copy.get("jane") );
+        Assert.assertEquals( "Jane Doe", copy.get("jane").getName() );
+    }
+
+    @Test
+    public void testCopyOnWriteDeepCopyCopiesContainersOnFirstWrite() {
+
+        Student s1 = createStudent();
+        LinkedList<Student> nightly = new LinkedList<>(Arrays.asList(s1));
+        Course c1 = new Course("Computer Science", new ArrayList<>(Arrays.asList(s1, createStudent())), nightly);
+        Course c2 = ModelMapper.deepCopyOf( c1, DeepCopyMode.COPY_ON_WRITE );
+
+        //LinkedList field cannot take a view, copied up front
+        Assert.assertNotSame( s1, c2.getNightlyStudents().get(0) );
+        //Read through the source until written, elements are copied on their first read
+        Student read = c2.getStudents().get(1);
+        Assert.assertNotSame( c1.getStudents().get(1), read );
+        Assert.assertSame( read, c2.getStudents().get(1) );
+
+        c2.getStudents().add( new Student() );
+        Assert.assertEquals( 2, c1.getStudents().size() );
+        Assert.assertEquals( 3, c2.getStudents().size() );
+        //The copy made on write shares what was already copied
+        Assert.assertSame( read, c2.getStudents().get(1) );
+        Assert.assertSame( c2.getNightlyStudents().get(0), c2.getStudents().get(0) );
+
+        Map<String, Person> persons = new HashMap<>();
+        persons.put("jane", createPerson());
+        Map<String, Person> copy = ModelMapper.deepCopyOf( persons, DeepCopyMode.COPY_ON_WRITE );
+        Person jane = copy.get("jane");
+        Assert.assertNotSame( persons.get("jane"), jane );
+        Assert.assertSame( jane, copy.entrySet().iterator().next().getValue() );
+        Iterator<Map.Entry<String, Person>> entries = copy.entrySet().iterator();
+        entries.next();
+        entries.remove();
+        Assert.assertTrue( copy.isEmpty() );
+        Assert.assertEquals( 1, persons.size() );
+    }
+
+    @Test
+    public void testCopyOnWriteDeepCopyKeepsTheRootClass() {
+
+        Student s1 = createStudent();
+        Course course = new Course("Computer Science", new ArrayList<>(Arrays.asList(s1)), new LinkedList<Student>());
+        ArrayList<Course> courses = new ArrayList<>(Arrays.asList(course));
+
+        ArrayList<Course> copy = ModelMapper.deepCopyOf( courses, DeepCopyMode.COPY_ON_WRITE );
+        Assert.assertEquals( ArrayList.class, copy.getClass() );
+        Assert.assertNotSame( course, copy.get(0) );
+        //Containers reached from the root are still views, copied on first write
+        Assert.assertNotEquals( ArrayList.class, copy.get(0).getStudents().getClass() );
+        Assert.assertNotSame( s1, copy.get(0).getStudents().get(0) );
+
+        HashMap<String, Person> persons = new HashMap<>();
+        persons.put("jane", createPerson());
+        HashMap<String, Person> copiedPersons = ModelMapper.deepCopyOf( persons, DeepCopyMode.COPY_ON_WRITE );
+        Assert.assertNotSame( persons.get("jane"), copiedPersons.get("jane") );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapRejectsOptionsOfMapInto() {
+        ModelMapper.map( createPerson(), PersonVO.class, MappingOptions.defaults().skipNulls(true) );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeepCopyOfRejectsNullMode() {
+        ModelMapper.deepCopyOf( createPerson(), null );
+    }
+
+    @Test
+    public void testDeepCopySharesImmutableObjects() {
+
+        Money price = new Money(new BigDecimal("9.99"));
+        List<Object> values = new ArrayList<>(Arrays.<Object>asList(
+                price, LocalDate.of(2020, 1, 1), UUID.randomUUID(), Gender.FEMALE, createPerson()));
+        List<Object> copy = ModelMapper.deepCopyOf( values );
+
+        for(int i=0; i< 4; ++i){
+            Assert.assertSame( values.get(i), copy.get(i) );
+        }
+        Assert.assertNotSame( values.get(4), copy.get(4) );
+    }
+
+    @Test
+    public void testDeepCopyKeepsCollectionTypeAndComparator() {
+
+        TreeMap<String, List<Person>> byName = new TreeMap<>(Collections.<String>reverseOrder());
+        byName.put("a", new ArrayList<>(Arrays.asList(createPerson())));
+        byName.put("b", new ArrayList<>(Arrays.asList(createPerson(), createPerson())));
+        TreeMap<String, List<Person>> copy = ModelMapper.deepCopyOf( byName );
+
+        Assert.assertSame( byName.comparator(), copy.comparator() );
+        Assert.assertEquals( "b", copy.firstKey() );
+        Assert.assertEquals( ArrayList.class, copy.get("b").getClass() );
+        Assert.assertNotSame( byName.get("b").get(0), copy.get("b").get(0) );
+    }
+
+
+
+
+    @Test
+    public void testSimpleObjectMappingAnnotationFieldStrategy(){
+
+        Student s1 = createStudent();
+        StudentVO vo = ModelMapper.map(s1, StudentVO.class);
+        Assert.assertTrue( s1.getName().equals(vo.getFirstName()) );
+    }
+
+    @Test
+    public void testListOfComplexObjectMappingAnnotationFieldStrategy(){
+
+        Student s1 = createStudent();
+        Student s2 = createStudent();
+        s2.setName("Jane Doe");
+
+        List<Student> studentList = Arrays.asList(s1, s2);
+        List<StudentVO> studentListVO = ModelMapper.mapList(studentList, StudentVO.class);
+
+        Assert.assertTrue(studentListVO!= null && studentListVO.size()==2);
+    }
+
+
+    @Test
+    public void testCyclicReferenceOnMappingAndPass(){
+
+        Person p1 = createPerson();
+        p1.setParent(p1);
+        PersonVO pvo = ModelMapper.map(p1,  PersonVO.class);
+        //The cycle is kept, not cut one level down
+        Assert.assertSame(pvo, pvo.getParent());
+    }
+
+    @Test
+    public void testSharedReferenceIsMappedOnceAndEqualObjectsAreNotMixedUp(){
+
+        Person grandParent = createPerson();
+        Person parent      = new Person("Parent", 50, grandParent);
+        Person child       = new Person("Child",  20, parent);
+        //Equal hash codes used to make the mapper skip unrelated objects
+        Person lookalike   = new Person("Lookalike", 30, null){
+            @Override public int hashCode() {
+                return grandParent.hashCode();
+            }
+        };
+        parent.setParent( lookalike );
+        child.setParent( parent );
+        lookalike.setParent( grandParent );
+
+        PersonVO cvo = ModelMapper.map(child, PersonVO.class);
+        Assert.assertEquals("Lookalike", cvo.getParent().getParent().getFirstName());
+        Assert.assertEquals("Jane Doe",  cvo.getParent().getParent().getParent().getFirstName());
+
+        //A reference back to an object already mapped reuses its destination
+        grandParent.setParent( parent );
+        cvo = ModelMapper.map(child, PersonVO.class);
+        Assert.assertSame(cvo.getParent(), cvo.getParent().getParent().getParent().getParent());
+    }
+
+
+    @Test
+    public void testMappingWithAgregationAnnotationFieldMappingStrategyAndPass(){
+
+        Person p1 = createPerson();
+        p1.setParent(createPerson());
+        PersonVO pvo = ModelMapper.map(p1, PersonVO.class);
+        Assert.assertTrue(pvo.getParent()!=null);
+    }
+
+
+    @Test
+    public void testMappingPropertyAccessorStrategyAndPass(){
+
+        Teacher teacher = createTeacher();
+        TeacherVO teacherVO = ModelMapper.map(teacher, TeacherVO.class);
+        Assert.assertTrue(teacherVO!= null);
+    }
+
+    @Test
+    public void testMappingPropertyAccessorWithNonPurePojoObjectAndPass(){
+
+        BMWVO bmwI8 = new BMWVO("BMWVO","i8","xxx");
+        BMW vo      = ModelMapper.map(bmwI8, BMW.class);
+        Assert.assertTrue(vo!= null);
+    }
+
+
+    @Test
+    public void testMappingUsingMixedStrategyAndPass(){
+
+        Person p = createPerson();
+        p.setAddress(new Address("London Road",91,"HLY25"));
+        p.setGender(Gender.FEMALE);
+        p.setCarVOList(Arrays.asList(
+                new CarVO[]{new BMWVO("BMWVO","i3","XXX"),
+                        new BMWVO("BMWVO","i8","YYY")
+                }));
+        PersonVO p2 = ModelMapper.map(p, PersonVO.class);
+        Assert.assertTrue(p2!=null);
+    }
+
+    @Test
+    public void testLazyMappingLoadsNestedPropertiesOnFirstRead(){
+
+        Person child = new Person("Child", 5);
+        Person parent = new Person("Parent", 35, child);
+        child.setParent(parent);
+        child.setAddress(new Address());
+        child.getAddress().setDescription("Main Street");
+
+        PersonVO vo = ModelMapper.map(child, PersonVO.class, MappingOptions.defaults().lazy(true));
+        Assert.assertTrue( vo instanceof LazyLoaded );
+        Assert.assertEquals( "Child", vo.getFirstName() );
+        Assert.assertEquals( "Parent", vo.getParent().getFirstName() );
+        //Cycles are kept across loads
+        Assert.assertSame( vo, vo.getParent().getParent() );
+        Assert.assertNotSame( child.getAddress(), vo.getAddress() );
+        Assert.assertEquals( "Main Street", vo.getAddress().getDescription() );
+
+        PersonVO overwritten = ModelMapper.map(child, PersonVO.class, MappingOptions.defaults().lazy(true));
+        overwritten.setParent(null);
+        Assert.assertNull( overwritten.getParent() );
+    }
+
+    @Test
+    public void testLazyLoadsAreNotMeteredAsCallsOfTheirOwn(){
+
+        Person child = new Person("Child", 5);
+        child.setAddress(new Address());
+        MapperMetrics.reset();
+        MapperMetrics.enable();
+        try {
+            PersonVO vo = ModelMapper.map(child, PersonVO.class, MappingOptions.defaults().lazy(true));
+            Assert.assertNotSame( child.getAddress(), vo.getAddress() );
+
+            MetricsSnapshot snapshot = MapperMetrics.snapshot();
+            Assert.assertEquals( 1, snapshot.getPair(Person.class, PersonVO.class).getCalls() );
+            Assert.assertNull( snapshot.getPair(Address.class, Address.class) );
+        } finally {
+            MapperMetrics.disable();
+            MapperMetrics.reset();
+        }
+    }
+
+    @Test
+    public void testMapIntoUpdatesExistingGraphInPlace(){
+
+        PersonVO existingParent = new PersonVO();
+        PersonVO existing = new PersonVO();
+        existing.setFirstName("Old");
+        existing.setParent(existingParent);
+
+        Person source = new Person("New", 30, new Person("Parent", 60));
+        Assert.assertSame( existing, ModelMapper.mapInto(source, existing) );
+        Assert.assertEquals( "New", existing.getFirstName() );
+        Assert.assertEquals( 30, existing.getAge() );
+        //Nested objects are updated, not replaced
+        Assert.assertSame( existingParent, existing.getParent() );
+        Assert.assertEquals( "Parent", existingParent.getFirstName() );
+
+        String sameName = new String("New");
+        existing.setFirstName(sameName);
+        source.setParent(null);
+        ModelMapper.mapInto(source, existing, MappingOptions.defaults().skipNulls(true).onlyChanged(true));
+        Assert.assertSame( sameName, existing.getFirstName() );
+        Assert.assertSame( existingParent, existing.getParent() );
+
+        ModelMapper.mapInto(source, existing);
+        Assert.assertNull( existing.getParent() );
+    }
+
+    @Test
+    public void testMappingPlanIsBuiltOnceAndReusedAcrossCalls(){
+
+        MappingPlan<Person, PersonVO> plan = MappingPlanCache.lookup(Person.class, PersonVO.class);
+        PersonVO pvo = ModelMapper.map(createPerson(), PersonVO.class);
+
+        Assert.assertSame(plan, MappingPlanCache.lookup(Person.class, PersonVO.class));
+        Assert.assertEquals("Jane Doe", pvo.getFirstName());
+        Assert.assertEquals(27, pvo.getAge());
+    }
+
+    @Test
+    public void testReflectiveEngineModeMapsLikeMethodHandleOne(){
+
+        Student s1 = createStudent();
+        StudentVO byHandles = ModelMapper.map(s1, StudentVO.class);
+        ModelMapper.setEngineMode(EngineMode.REFLECTIVE);
+        try {
+            StudentVO byReflection = ModelMapper.map(s1, StudentVO.class);
+            Assert.assertEquals(byHandles.getFirstName(),  byReflection.getFirstName());
+            Assert.assertEquals(byHandles.getAge(),        byReflection.getAge());
+            Assert.assertEquals(byHandles.getScolarship(), byReflection.getScolarship());
+            Assert.assertEquals(byHandles.getSubjects().length, byReflection.getSubjects().length);
+        } finally {
+            ModelMapper.setEngineMode(EngineMode.METHOD_HANDLE);
+        }
+    }
+
+    @Test
+    public void testGeneratedMapperMapsLikeReflectiveEngine(){
+
+        BMWVO bmwI8 = new BMWVO("BMWVO","i8","xxx");
+        BMW reflective = ModelMapper.map(bmwI8, BMW.class);
+
+        ModelMapper.useGeneratedMapper(BMWVO.class, BMW.class);
+        BMW generated = ModelMapper.map(bmwI8, BMW.class);
+
+        Assert.assertNotNull(MappingPlanCache.lookup(BMWVO.class, BMW.class).getGeneratedMapper());
+        Assert.assertEquals(reflective.getBrand(), generated.getBrand());
+        Assert.assertEquals(reflective.getModel(), generated.getModel());
+        Assert.assertEquals(reflective.getSerie(), generated.getSerie());
+    }
+
+    @Test
+    public void testGeneratedMapperWritesThroughSettersWhereReflectiveEngineSetsFields(){
+
+        Title source = new Title();
+        source.setText("  Lead  ");
+        Assert.assertEquals("  Lead  ", ModelMapper.map(source, TrimmedTitle.class).getText());
+
+        ModelMapper.useGeneratedMapper(Title.class, TrimmedTitle.class);
+        Assert.assertNotNull(MappingPlanCache.lookup(Title.class, TrimmedTitle.class).getGeneratedMapper());
+        Assert.assertEquals("Lead", ModelMapper.map(source, TrimmedTitle.class).getText());
+    }
+
+    @Test
+    public void testCompiledMapperIsPreferredAndMapsLikeReflectiveEngine(){
+
+        Student s1 = createStudent();
+        s1.setGender(Gender.FEMALE);
+        StudentVO vo = ModelMapper.map(s1, StudentVO.class);
+
+        Mapper<Student, StudentVO> mapper = MappingPlanCache.lookup(Student.class, StudentVO.class).getGeneratedMapper();
+        Assert.assertTrue(mapper instanceof CompiledMapper);
+        Assert.assertEquals(s1.getName(),           vo.getFirstName());
+        Assert.assertEquals(s1.getAge(),            vo.getAge());
+        Assert.assertEquals(s1.getEducationLevel(), vo.getScolarship());
+        Assert.assertEquals(Gender.FEMALE,          vo.getGender());
+        Assert.assertEquals(s1.getSubjects().length, vo.getSubjects().length);
+    }
+
+    @Test
+    public void testMappingStrategyIsSharedPerFieldAndStateless() throws Exception {
+
+        SystemLegacyMappingStrategy strategy = MappingManager.discovery(StudentVO.class.getDeclaredField("scolarship"));
+        Assert.assertSame(strategy, MappingManager.discovery(StudentVO.class.getDeclaredField("scolarship")));
+
+        Student s1 = createStudent();
+        Student s2 = createStudent();
+        s2.setEducationLevel("Master");
+        Assert.assertEquals("Bachelor", strategy.resolve(s1));
+        Assert.assertEquals("Master",   strategy.resolve(s2));
+    }
+
+    @Test
+    public void testMapListParallelKeepsSourceOrder(){
+
+        List<Person> persons = new ArrayList<>();
+        for(int i=0; i< 1000; ++i){
+            persons.add( i % 100 == 0? null: new Person("Person " + i, i) );
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<PersonVO> mapped = ModelMapper.mapListParallel(persons, PersonVO.class, pool, 16);
+            Assert.assertEquals(persons.size(), mapped.size());
+            for(int i=0; i< persons.size(); ++i){
+                if(persons.get(i) == null){
+                    Assert.assertNull(mapped.get(i));
+                    continue;
+                }
+                Assert.assertEquals(persons.get(i).getName(), mapped.get(i).getFirstName());
+                Assert.assertEquals(i, mapped.get(i).getAge());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMapIteratorAndMapStreamAreLazy(){
+
+        final AtomicInteger pulled = new AtomicInteger();
+        Iterator<Person> persons = new Iterator<Person>() {
+            @Override public boolean hasNext() {
+                return true;
+            }
+            @Override public Person next() {
+                int i = pulled.incrementAndGet();
+                return new Person("Person " + i, i);
+            }
+        };
+        Iterator<PersonVO> mapped = ModelMapper.mapIterator(persons, PersonVO.class);
+        Assert.assertEquals(0, pulled.get());
+        Assert.assertEquals("Person 1", mapped.next().getFirstName());
+        Assert.assertEquals(2, mapped.next().getAge());
+        Assert.assertEquals(2, pulled.get());
+
+        pulled.set(0);
+        List<PersonVO> firstThree = ModelMapper.mapStream(
+                IntStream.range(0, 1_000_000).mapToObj(i -> {
+                    pulled.incrementAndGet();
+                    return new Person("Person " + i, i % 100);
+                }), PersonVO.class)
+                .limit(3)
+                .collect(Collectors.toList());
+        Assert.assertEquals(3, firstThree.size());
+        Assert.assertEquals("Person 2", firstThree.get(2).getFirstName());
+        Assert.assertEquals(3, pulled.get());
+    }
+
+    @Test
+    public void testMetricsCountCallsAndObjectsPerPairOnlyWhenEnabled(){
+
+        MapperMetrics.reset();
+        MapperMetrics.enable();
+        try {
+            ModelMapper.map(new Person("Child", 10, new Person("Parent", 40)), PersonVO.class);
+            ModelMapper.mapList(Arrays.asList(createPerson(), null, createPerson()), PersonVO.class);
+
+            MetricsSnapshot.Pair pair = MapperMetrics.snapshot().getPair(Person.class, PersonVO.class);
+            Assert.assertEquals(2, pair.getCalls());
+            Assert.assertEquals(4, pair.getObjectsMapped());
+            Assert.assertTrue(pair.getFieldsMapped() >= pair.getObjectsMapped());
+            Assert.assertEquals(2, Arrays.stream(pair.getLatencyHistogram()).sum());
+            Assert.assertTrue(pair.getLatencyPercentileNanos(50) <= pair.getLatencyPercentileNanos(100));
+            Assert.assertNotNull(MapperMetrics.snapshot().getCaches().get(MapperMetrics.CLASS_METADATA_CACHE));
+
+            MapperMetrics.disable();
+            ModelMapper.map(createPerson(), PersonVO.class);
+            Assert.assertEquals(2, MapperMetrics.snapshot().getPair(Person.class, PersonVO.class).getCalls());
+        } finally {
+            MapperMetrics.disable();
+            MapperMetrics.reset();
+        }
+    }
+
+    @Test
+    public void testManagementBeanTunesCachesAndEngineMode() throws Exception {
+
+        ObjectName name = MapperManagement.register();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        int capacity = MappingPlanCache.getCapacity();
+        EngineMode mode = ModelMapper.getEngineMode();
+        try {
+            ModelMapper.map(createPerson(), PersonVO.class);
+            Assert.assertTrue((Integer) server.getAttribute(name, "PlanCacheSize") > 0);
+
+            server.setAttribute(name, new Attribute("PlanCacheCapacity", 1));
+            Assert.assertEquals(1, MappingPlanCache.getCapacity());
+            Assert.assertTrue(MappingPlanCache.size() <= 1);
+
+            server.setAttribute(name, new Attribute("EngineMode", "reflective"));
+            Assert.assertEquals(EngineMode.REFLECTIVE, ModelMapper.getEngineMode());
+            Assert.assertEquals("Jane Doe", ModelMapper.map(createPerson(), PersonVO.class).getFirstName());
+
+            server.invoke(name, "clearCaches", null, null);
+            Assert.assertEquals(0, MappingPlanCache.size());
+        } finally {
+            MappingPlanCache.setCapacity(capacity);
+            ModelMapper.setEngineMode(mode);
+            MapperManagement.unregister();
+        }
+    }
+
+    @Test
+    public void testFlightRecorderEventsForPlansEvictionsAndSlowCalls() throws Exception {
+
+        //Nothing to record on a JVM without the flight recorder, or with it turned off
+        Assume.assumeTrue(MapperEvents.isAvailable());
+        int capacity = MappingPlanCache.getCapacity();
+        Path dump = Files.createTempFile("dynamicmapper", ".jfr");
+        List<Person> families = new ArrayList<>();
+        for(int i=0; i< 40; ++i){
+            families.add(new Person("Child " + i, 10, new Person("Parent " + i, 40)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (Recording recording = new Recording()) {
+            recording.enable(MapperEvents.PLAN_BUILT_EVENT);
+            recording.enable(MapperEvents.CACHE_EVICTION_EVENT);
+            recording.enable(MapperEvents.SLOW_CALL_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+            MappingPlanCache.clear();
+            MappingPlanCache.setCapacity(1);
+            ModelMapper.map(new Person("Child", 10, new Person("Parent", 40)), PersonVO.class);
+            ModelMapper.map(createStudent(), StudentVO.class);
+            ModelMapper.mapInto(createTeacher(), new PersonVO());
+            ModelMapper.mapListParallel(families, PersonVO.class, pool, 8);
+            recording.stop();
+            recording.dump(dump);
+        } finally {
+            MappingPlanCache.setCapacity(capacity);
+            pool.shutdown();
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+
+        Map<String, List<RecordedEvent>> byName = events.stream()
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+        Assert.assertTrue(byName.get(MapperEvents.PLAN_BUILT_EVENT).stream()
+                .anyMatch(event -> Student.class.getName().equals(event.getClass("sourceClass").getName())));
+        Assert.assertFalse(byName.get(MapperEvents.CACHE_EVICTION_EVENT).isEmpty());
+        RecordedEvent slowPerson = byName.get(MapperEvents.SLOW_CALL_EVENT).stream()
+                .filter(event -> Person.class.getName().equals(event.getClass("sourceClass").getName()))
+                .findFirst().get();
+        Assert.assertEquals("map", slowPerson.getString("operation"));
+        Assert.assertEquals(2, slowPerson.getLong("objectCount"));
+        Assert.assertTrue(byName.get(MapperEvents.SLOW_CALL_EVENT).stream()
+                .anyMatch(event -> "mapInto".equals(event.getString("operation"))));
+        //Parents are counted along with the list elements
+        RecordedEvent slowList = byName.get(MapperEvents.SLOW_CALL_EVENT).stream()
+                .filter(event -> "mapListParallel".equals(event.getString("operation")))
+                .findFirst().get();
+        Assert.assertEquals(80, slowList.getLong("objectCount"));
+    }
+
+    private static Student createStudent() {
+        Student s1 = new Student();
+        s1.setEducationLevel("Bachelor");
+        s1.setSubjects(new Subject[]{
+                new Subject("ALG", "Algebra",   1),
+                new Subject("PHYS1", "Physics", 1),
+                new Subject("PG", "Programming",2),
+        });
+        s1.setAge(20);
+        s1.setName("John Doe");
+        return s1;
+    }
+
+    private static Person createPerson(){
+        return new Person("Jane Doe", 27);
+    }
+
+    private static Teacher createTeacher(){
+        return new Teacher("John Doe",42,new String[]{"Electronics, Embedded Systems"}, "Master");
+    }
+
+    @Immutable
+    private static final class Money {
+
+        private final BigDecimal amount;
+
+        Money(BigDecimal amount) {
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * Hashes its name, so it must be filled before being added to a set or used as a map key
+     */
+    public static final class Key {
+
+        private String name;
+
+        public Key() {
+        }
+
+        Key(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Objects.equals(name, ((Key) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name);
+        }
+    }
+
+    /**
+     * Registered as immutable by a test, only once it has been copied and mapped
+     */
+    public static final class Label {
+
+        private String text;
+
+        public Label() {
+        }
+    }
+
+    public static final class LabelHolder {
+
+        private Label label;
+
+        public Label getLabel() {
+            return label;
+        }
+
+        public void setLabel(Label label) {
+            this.label = label;
+        }
+    }
+
+    public static final class Title {
+
+        private String text;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Its setter trims, which only generated mappers go through
+     */
+    public static final class TrimmedTitle {
+
+        private String text;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text == null? null: text.trim();
+        }
+    }
+
+    /**
+     * Reaches first through a field before the set and the map holding it
+     */
+    public static final class KeyHolder {
+
+        private Key first;
+        private Set<Key> keys = new HashSet<>();
+        private Map<Key, String> values = new HashMap<>();
+    }
+
+
 }
\ No newline at end of file
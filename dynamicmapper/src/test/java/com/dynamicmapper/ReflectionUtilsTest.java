@@ -1,25 +1,104 @@
-package com.dynamicmapper;
-
-import org.junit.Test;
-
-public class ReflectionUtilsTest {
-
-
-
-
-
-
-
-
-    @Test
-    public void getDeclaredFieldsAnnotatedWith() {
-
-
-
-    }
-
-    @Test
-    public void getMethodsByNameCriteria() {
-    }
-
-}
\ No newline at end of file
+package com.dynamicmapper;
+
+import com.dynamicmapper.commons.ClassDescriptor;
+import com.dynamicmapper.commons.ClassMetadataRegistry;
+import com.dynamicmapper.commons.Mappable;
+import com.dynamicmapper.commons.PropertyIndex;
+import com.dynamicmapper.commons.ReflectionUtils;
+import com.dynamicmapper.domain.BMW;
+import com.dynamicmapper.domain.PersonVO;
+import com.dynamicmapper.domain.StudentVO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReflectionUtilsTest {
+
+
+
+
+    @Test
+    public void getDeclaredFieldsAnnotatedWith() {
+
+        List<Field> annotated = ReflectionUtils
+                .getDeclaredFieldsAnnotatedWithTraversingClazzHierarchy(StudentVO.class, Mappable.class);
+
+        List<String> names = new ArrayList<>();
+        for(Field curr: annotated){
+            names.add( curr.getName() );
+        }
+        //Subclass fields first, then the ones inherited from PersonVO
+        Assert.assertEquals("subjects",     names.get(0));
+        Assert.assertEquals("scolarship",   names.get(1));
+        Assert.assertTrue(names.contains("firstName"));
+        Assert.assertTrue(names.contains("parent"));
+        Assert.assertFalse(names.contains("gender"));
+    }
+
+    @Test
+    public void getMethodsByNameCriteria() {
+
+        List<Method> getters = ReflectionUtils.gettersOf(StudentVO.class, "getScolarship");
+        Assert.assertEquals(1, getters.size());
+        Assert.assertEquals("getScolarship", getters.get(0).getName());
+
+        Method inherited = ReflectionUtils.lookupPropertyResolver("getFirstName", StudentVO.class);
+        Assert.assertNotNull(inherited);
+        Assert.assertEquals(PersonVO.class, inherited.getDeclaringClass());
+        Assert.assertNull(ReflectionUtils.lookupPropertyResolver("getNothing", StudentVO.class));
+    }
+
+    @Test
+    public void testClassFieldsAreCachedUnderTheRequestedClass() {
+
+        ClassMetadataRegistry registry = ClassMetadataRegistry.getInstance();
+        registry.clear();
+
+        long misses = registry.getMissCount();
+        long hits   = registry.getHitCount();
+
+        List<Field> first  = ReflectionUtils.getClazzFieldsAlongTheHierarchy(StudentVO.class);
+        List<Field> second = ReflectionUtils.getClazzFieldsAlongTheHierarchy(StudentVO.class);
+        ReflectionUtils.getClazzDeclaredMethodsAlongTheHierarchy(StudentVO.class);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(misses + 1, registry.getMissCount());
+        Assert.assertEquals(hits   + 2, registry.getHitCount());
+    }
+
+    @Test
+    public void testClassDescriptorExposesGettersSettersAndGenericTypes() throws Exception {
+
+        ClassDescriptor descriptor = ClassMetadataRegistry.getInstance().descriptorOf(PersonVO.class);
+
+        Assert.assertSame(descriptor, ClassMetadataRegistry.getInstance().descriptorOf(PersonVO.class));
+        Assert.assertTrue(descriptor.getGetters().contains(PersonVO.class.getMethod("getFirstName")));
+        Assert.assertTrue(descriptor.getSetters().contains(PersonVO.class.getMethod("setFirstName", String.class)));
+        Assert.assertFalse(descriptor.getGetters().contains(PersonVO.class.getMethod("setFirstName", String.class)));
+
+        ParameterizedType carList = (ParameterizedType) descriptor
+                .getGenericTypeOf(PersonVO.class.getDeclaredField("carList"));
+        Assert.assertEquals(BMW.class, carList.getActualTypeArguments()[0]);
+    }
+
+    @Test
+    public void testPropertyIndexResolvesAccessorsByName() throws Exception {
+
+        PropertyIndex index = ReflectionUtils.propertyIndexOf(StudentVO.class);
+
+        Assert.assertEquals(PersonVO.class.getMethod("getFirstName"), index.getter("getFirstName"));
+        Assert.assertNull(index.getter("setFirstName"));
+        Assert.assertNull(index.getter("getNothing"));
+
+        PropertyIndex.Property scolarship = index.property("scolarship");
+        Assert.assertEquals(StudentVO.class.getDeclaredField("scolarship"), scolarship.getField());
+        Assert.assertEquals(StudentVO.class.getMethod("getScolarship"), scolarship.getGetter());
+        Assert.assertEquals(StudentVO.class.getMethod("setScolarship", String.class), scolarship.getSetter());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.dynamicmapper.commons;
+
+import com.dynamicmapper.domain.Gender;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+
+public class CollectionFactoryTest {
+
+
+    @Test
+    public void testNewInstanceKeepsSourceSettings(){
+
+        TreeMap<String, Integer> sorted = new TreeMap<>(Collections.<String>reverseOrder());
+        TreeMap<String, Integer> sortedCopy = CollectionFactory.newInstance( sorted, 0 );
+        Assert.assertSame( sorted.comparator(), sortedCopy.comparator() );
+
+        EnumMap<Gender, String> byGender = new EnumMap<>(Gender.class);
+        EnumMap<Gender, String> byGenderCopy = CollectionFactory.newInstance( byGender, 0 );
+        byGenderCopy.put( Gender.values()[0], "first" );
+        Assert.assertEquals( 1, byGenderCopy.size() );
+
+        EnumSet<Gender> genders = EnumSet.allOf(Gender.class);
+        EnumSet<Gender> gendersCopy = CollectionFactory.newInstance( genders, genders.size() );
+        Assert.assertTrue( gendersCopy.isEmpty() );
+        Assert.assertEquals( EnumSet.complementOf(gendersCopy), genders );
+
+        ArrayBlockingQueue<String> bounded = new ArrayBlockingQueue<>(8);
+        bounded.add("a");
+        ArrayBlockingQueue<String> boundedCopy = CollectionFactory.newInstance( bounded, bounded.size() );
+        Assert.assertEquals( 8, boundedCopy.remainingCapacity() );
+    }
+
+    @Test
+    public void testUnregisteredTypesFallBackToTheirInterface(){
+
+        Assert.assertEquals( ArrayList.class, CollectionFactory.newInstance( Arrays.asList("a", "b"), 2 ).getClass() );
+        Assert.assertEquals( ArrayList.class,
+                CollectionFactory.newInstance( Collections.unmodifiableList(new LinkedList<>()), 0 ).getClass() );
+        Assert.assertEquals( ArrayList.class, CollectionFactory.newInstanceOf( "java.util.Arrays.ArrayList" ).getClass() );
+    }
+
+    @Test
+    public void testRegisteredInstantiatorIsUsed(){
+
+        CollectionFactory.register( MarkedList.class, new CollectionInstantiator() {
+            @Override public Object newInstance(Object source, int expectedSize) {
+                return new MarkedList("registered");
+            }
+        });
+        MarkedList copy = CollectionFactory.newInstance( new MarkedList("source"), 0 );
+        Assert.assertEquals( "registered", copy.mark );
+        Assert.assertEquals( "registered", ((MarkedList) CollectionFactory.newInstanceOf( MarkedList.class.getName() )).mark );
+    }
+
+
+    private static final class MarkedList extends ArrayList<String> {
+
+        private final String mark;
+
+        MarkedList(String mark) {
+            this.mark = mark;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.dynamicmapper.commons;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrentLRUCacheTest {
+
+
+    private static final int CAPACITY       = 100;
+    private static final int KEY_SPACE      = 150;
+    private static final int OPS_PER_THREAD = 200_000;
+
+
+    @Test
+    public void testConcurrentLRUCacheEviction(){
+
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(4);
+
+        cache.put(1,    "a");
+        cache.put(2,    "b");
+        cache.put(3,    "c");
+        cache.put(4,    "d");
+
+        //Access eldest one to keep it recently
+        cache.get(1);
+        //Next access will evict the cache
+        cache.put(5,    "e");
+        cache.put(6,    "f");
+
+        Assert.assertEquals("a", cache.get(1));
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void testShrinkingCapacityEvictsRightAway(){
+
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(10);
+        for(int i=0; i< 10; ++i){
+            cache.put(i, "v" + i);
+        }
+        cache.setCapacity(3);
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testConcurrentAccessStaysConsistentAndBounded() throws Exception {
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(CAPACITY);
+
+        long reads = hammer(cache, 1) + hammer(cache, threads);
+
+        Assert.assertTrue(cache.size() <= CAPACITY);
+        for(int key=0; key< KEY_SPACE; ++key){
+            String value = cache.get(key);
+            Assert.assertTrue(value == null || value.equals("v" + key));
+        }
+        reads += KEY_SPACE;
+        //Every read counted once, and the key space doesn't fit so puts had to evict
+        Assert.assertEquals(reads, cache.getHitCount() + cache.getMissCount());
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    /**
+     * Run a read mostly workload (90% get, 10% put) over a key space larger than the cache capacity
+     *
+     * @return number of reads made
+     */
+    private static long hammer(final ConcurrentLRUCache<Integer, String> cache, int threads) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for(int t=0; t< threads; ++t){
+            results.add(pool.submit(new Callable<Long>() {
+                @Override public Long call() throws Exception {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long reads = 0;
+                    for(int i=0; i< OPS_PER_THREAD; ++i){
+                        int key = random.nextInt(KEY_SPACE);
+                        if(random.nextInt(10) == 0){
+                            cache.put(key, "v" + key);
+                        }else{
+                            ++reads;
+                            String value = cache.get(key);
+                            if(value != null && !value.equals("v" + key)){
+                                throw new AssertionError("Corrupted value for key " + key + ": " + value);
+                            }
+                        }
+                    }
+                    return reads;
+                }
+            }));
+        }
+        start.countDown();
+        long reads = 0;
+        for(Future<Long> curr: results){
+            reads += curr.get();
+        }
+        pool.shutdown();
+        return reads;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dynamicmapper.mapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappingContextTest {
+
+
+    @Test
+    public void testLookupIsByIdentityAndSurvivesGrowing(){
+
+        MappingContext context = MappingContext.acquire();
+        try {
+            String[] sources = new String[1000];
+            for(int i=0; i< sources.length; ++i){
+                sources[i] = new String("same");
+                context.register(sources[i], Integer.valueOf(i));
+            }
+            for(int i=0; i< sources.length; ++i){
+                Assert.assertEquals(Integer.valueOf(i), context.lookup(sources[i], Integer.class));
+            }
+            Assert.assertNull(context.lookup("same", Integer.class));
+            //Mapped into another type
+            Assert.assertNull(context.lookup(sources[0], String.class));
+
+            context.clear();
+            Assert.assertNull(context.lookup(sources[0], Integer.class));
+        } finally {
+            context.release();
+        }
+    }
+
+    @Test
+    public void testContextIsReusedPerThreadUnlessInUse(){
+
+        MappingContext outer = MappingContext.acquire();
+        MappingContext inner = MappingContext.acquire();
+        Assert.assertNotSame(outer, inner);
+        inner.release();
+        outer.release();
+
+        Object source = new Object();
+        MappingContext again = MappingContext.acquire();
+        try {
+            Assert.assertSame(outer, again);
+            //Released contexts come back empty
+            again.register(source, "mapped");
+        } finally {
+            again.release();
+        }
+        MappingContext cleared = MappingContext.acquire();
+        try {
+            Assert.assertNull(cleared.lookup(source, String.class));
+        } finally {
+            cleared.release();
+        }
+    }
+}